@@ -15,10 +15,7 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt;
 
-import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Function;
 
@@ -29,7 +26,6 @@ import org.springframework.context.annotation.Scope;
 
 import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.DynamicMqttMessageContainerHandler;
 import eu.arrowhead.common.mqtt.model.MqttMessageContainer;
-import eu.arrowhead.dto.MqttResponseTemplate;
 import eu.arrowhead.dto.TranslationReportRequestDTO;
 
 @Configuration
@@ -50,12 +46,6 @@ public class BeanConfig {
 		return new LinkedBlockingQueue<>();
 	}
 
-	//-------------------------------------------------------------------------------------------------
-	@Bean(InterfaceTranslatorToGenericMQTTConstants.PROVIDER_RESPONSE_MAP)
-	Map<String, Optional<MqttResponseTemplate>> getProviderResponseMap() {
-		return new ConcurrentHashMap<>();
-	}
-
 	//-------------------------------------------------------------------------------------------------
 	@Bean
 	@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
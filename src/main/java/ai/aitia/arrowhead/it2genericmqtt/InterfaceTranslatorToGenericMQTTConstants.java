@@ -52,6 +52,118 @@ public final class InterfaceTranslatorToGenericMQTTConstants {
 	public static final String $BRIDGE_INACTIVITY_THRESHOLD_WD = "${" + BRIDGE_INACTIVITY_THRESHOLD + ":" + InterfaceTranslatorToGenericMQTTDefaults.BRIDGE_INACTIVITY_THRESHOLD_DEFAULT + "}";
 	public static final String MQTT_HANDLER_THREADS = "mqtt.handler.threads";
 	public static final String $MQTT_HANDLER_THREADS_WD = "${" + MQTT_HANDLER_THREADS + ":" + InterfaceTranslatorToGenericMQTTDefaults.MQTT_HANDLER_THREADS_DEFAULT + "}";
+	public static final String BRIDGE_PERSISTENCE_ENABLED = "bridge.persistence.enabled";
+	public static final String $BRIDGE_PERSISTENCE_ENABLED_WD = "${" + BRIDGE_PERSISTENCE_ENABLED + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.BRIDGE_PERSISTENCE_ENABLED_DEFAULT + "}";
+	public static final String BRIDGE_JOURNAL_FILE = "bridge.journal.file";
+	public static final String $BRIDGE_JOURNAL_FILE_WD = "${" + BRIDGE_JOURNAL_FILE + ":" + InterfaceTranslatorToGenericMQTTDefaults.BRIDGE_JOURNAL_FILE_DEFAULT + "}";
+	public static final String BRIDGE_JOURNAL_INITIAL_SIZE = "bridge.journal.initial.size";
+	public static final String $BRIDGE_JOURNAL_INITIAL_SIZE_WD = "${" + BRIDGE_JOURNAL_INITIAL_SIZE + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.BRIDGE_JOURNAL_INITIAL_SIZE_DEFAULT + "}";
+	public static final String BRIDGE_JOURNAL_COMPACTION_INTERVAL = "bridge.journal.compaction.interval";
+	public static final String $BRIDGE_JOURNAL_COMPACTION_INTERVAL_WD = "${" + BRIDGE_JOURNAL_COMPACTION_INTERVAL + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.BRIDGE_JOURNAL_COMPACTION_INTERVAL_DEFAULT + "}";
+	public static final String COARSE_CLOCK_RESOLUTION = "coarse.clock.resolution";
+	public static final String $COARSE_CLOCK_RESOLUTION_WD = "${" + COARSE_CLOCK_RESOLUTION + ":" + InterfaceTranslatorToGenericMQTTDefaults.COARSE_CLOCK_RESOLUTION_DEFAULT + "}";
+	public static final String BRIDGE_PIPELINE_THREADS = "bridge.pipeline.threads";
+	public static final String $BRIDGE_PIPELINE_THREADS_WD = "${" + BRIDGE_PIPELINE_THREADS + ":" + InterfaceTranslatorToGenericMQTTDefaults.BRIDGE_PIPELINE_THREADS_DEFAULT + "}";
+	public static final String PROVIDER_MQTT_POOL_MAX_CONNECTIONS_PER_BROKER = "provider.mqtt.pool.max.connections.per.broker";
+	public static final String $PROVIDER_MQTT_POOL_MAX_CONNECTIONS_PER_BROKER_WD = "${" + PROVIDER_MQTT_POOL_MAX_CONNECTIONS_PER_BROKER + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_MQTT_POOL_MAX_CONNECTIONS_PER_BROKER_DEFAULT + "}";
+	public static final String PROVIDER_MQTT_POOL_IDLE_TIMEOUT = "provider.mqtt.pool.idle.timeout";
+	public static final String $PROVIDER_MQTT_POOL_IDLE_TIMEOUT_WD = "${" + PROVIDER_MQTT_POOL_IDLE_TIMEOUT + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_MQTT_POOL_IDLE_TIMEOUT_DEFAULT + "}";
+	public static final String PROVIDER_MQTT_POOL_EVICTION_INTERVAL = "provider.mqtt.pool.eviction.interval";
+	public static final String $PROVIDER_MQTT_POOL_EVICTION_INTERVAL_WD = "${" + PROVIDER_MQTT_POOL_EVICTION_INTERVAL + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_MQTT_POOL_EVICTION_INTERVAL_DEFAULT + "}";
+	public static final String MQTT_MAX_INFLIGHT = "mqtt.max.inflight";
+	public static final String $MQTT_MAX_INFLIGHT_WD = "${" + MQTT_MAX_INFLIGHT + ":" + InterfaceTranslatorToGenericMQTTDefaults.MQTT_MAX_INFLIGHT_DEFAULT + "}";
+	public static final String MQTT_RESPONSE_SHARDS = "mqtt.response.shards";
+	public static final String $MQTT_RESPONSE_SHARDS_WD = "${" + MQTT_RESPONSE_SHARDS + ":" + InterfaceTranslatorToGenericMQTTDefaults.MQTT_RESPONSE_SHARDS_DEFAULT + "}";
+	public static final String RESULT_CACHE_MAX_BYTES = "result.cache.max.bytes";
+	public static final String $RESULT_CACHE_MAX_BYTES_WD = "${" + RESULT_CACHE_MAX_BYTES + ":" + InterfaceTranslatorToGenericMQTTDefaults.RESULT_CACHE_MAX_BYTES_DEFAULT + "}";
+	public static final String PROVIDER_CORRELATION_MAX_PENDING = "provider.correlation.max.pending";
+	public static final String $PROVIDER_CORRELATION_MAX_PENDING_WD = "${" + PROVIDER_CORRELATION_MAX_PENDING + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_CORRELATION_MAX_PENDING_DEFAULT + "}";
+	public static final String PROVIDER_CORRELATION_REAPER_INTERVAL = "provider.correlation.reaper.interval";
+	public static final String $PROVIDER_CORRELATION_REAPER_INTERVAL_WD = "${" + PROVIDER_CORRELATION_REAPER_INTERVAL + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_CORRELATION_REAPER_INTERVAL_DEFAULT + "}";
+	public static final String PROVIDER_ADAPTIVE_TIMEOUT_FACTOR = "provider.adaptive.timeout.factor";
+	public static final String $PROVIDER_ADAPTIVE_TIMEOUT_FACTOR_WD = "${" + PROVIDER_ADAPTIVE_TIMEOUT_FACTOR + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_ADAPTIVE_TIMEOUT_FACTOR_DEFAULT + "}";
+	public static final String PROVIDER_ADAPTIVE_TIMEOUT_MIN = "provider.adaptive.timeout.min";
+	public static final String $PROVIDER_ADAPTIVE_TIMEOUT_MIN_WD = "${" + PROVIDER_ADAPTIVE_TIMEOUT_MIN + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_ADAPTIVE_TIMEOUT_MIN_DEFAULT + "}";
+	public static final String PROVIDER_CIRCUIT_FAILURE_THRESHOLD = "provider.circuit.failure.threshold";
+	public static final String $PROVIDER_CIRCUIT_FAILURE_THRESHOLD_WD = "${" + PROVIDER_CIRCUIT_FAILURE_THRESHOLD + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_CIRCUIT_FAILURE_THRESHOLD_DEFAULT + "}";
+	public static final String PROVIDER_CIRCUIT_OPEN_DURATION = "provider.circuit.open.duration";
+	public static final String $PROVIDER_CIRCUIT_OPEN_DURATION_WD = "${" + PROVIDER_CIRCUIT_OPEN_DURATION + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.PROVIDER_CIRCUIT_OPEN_DURATION_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_CALLBACK_ENABLED = "data.model.translator.callback.enabled";
+	public static final String $DATA_MODEL_TRANSLATOR_CALLBACK_ENABLED_WD = "${" + DATA_MODEL_TRANSLATOR_CALLBACK_ENABLED + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_CALLBACK_ENABLED_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_CALLBACK_FALLBACK_FACTOR = "data.model.translator.callback.fallback.factor";
+	public static final String $DATA_MODEL_TRANSLATOR_CALLBACK_FALLBACK_FACTOR_WD = "${" + DATA_MODEL_TRANSLATOR_CALLBACK_FALLBACK_FACTOR + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_CALLBACK_FALLBACK_FACTOR_DEFAULT + "}";
+	public static final String TRANSLATION_CACHE_MAX_BYTES = "translation.cache.max.bytes";
+	public static final String $TRANSLATION_CACHE_MAX_BYTES_WD = "${" + TRANSLATION_CACHE_MAX_BYTES + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATION_CACHE_MAX_BYTES_DEFAULT + "}";
+	public static final String TRANSLATION_CACHE_TTL = "translation.cache.ttl";
+	public static final String $TRANSLATION_CACHE_TTL_WD = "${" + TRANSLATION_CACHE_TTL + ":" + InterfaceTranslatorToGenericMQTTDefaults.TRANSLATION_CACHE_TTL_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_POLLER_THREADS = "data.model.translator.poller.threads";
+	public static final String $DATA_MODEL_TRANSLATOR_POLLER_THREADS_WD = "${" + DATA_MODEL_TRANSLATOR_POLLER_THREADS + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_POLLER_THREADS_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_POLL_INITIAL_DELAY = "data.model.translator.poll.initial.delay";
+	public static final String $DATA_MODEL_TRANSLATOR_POLL_INITIAL_DELAY_WD = "${" + DATA_MODEL_TRANSLATOR_POLL_INITIAL_DELAY + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_POLL_INITIAL_DELAY_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_POOL_MAX_CONNECTIONS = "translator.http.pool.max.connections";
+	public static final String $TRANSLATOR_HTTP_POOL_MAX_CONNECTIONS_WD = "${" + TRANSLATOR_HTTP_POOL_MAX_CONNECTIONS + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_POOL_MAX_CONNECTIONS_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_POOL_PENDING_ACQUIRE_MAX = "translator.http.pool.pending.acquire.max";
+	public static final String $TRANSLATOR_HTTP_POOL_PENDING_ACQUIRE_MAX_WD = "${" + TRANSLATOR_HTTP_POOL_PENDING_ACQUIRE_MAX + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_POOL_PENDING_ACQUIRE_MAX_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_POOL_IDLE_TIMEOUT = "translator.http.pool.idle.timeout";
+	public static final String $TRANSLATOR_HTTP_POOL_IDLE_TIMEOUT_WD = "${" + TRANSLATOR_HTTP_POOL_IDLE_TIMEOUT + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_POOL_IDLE_TIMEOUT_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_POOL_EVICTION_INTERVAL = "translator.http.pool.eviction.interval";
+	public static final String $TRANSLATOR_HTTP_POOL_EVICTION_INTERVAL_WD = "${" + TRANSLATOR_HTTP_POOL_EVICTION_INTERVAL + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_POOL_EVICTION_INTERVAL_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_CONNECT_TIMEOUT = "translator.http.connect.timeout";
+	public static final String $TRANSLATOR_HTTP_CONNECT_TIMEOUT_WD = "${" + TRANSLATOR_HTTP_CONNECT_TIMEOUT + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_CONNECT_TIMEOUT_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_RESPONSE_TIMEOUT = "translator.http.response.timeout";
+	public static final String $TRANSLATOR_HTTP_RESPONSE_TIMEOUT_WD = "${" + TRANSLATOR_HTTP_RESPONSE_TIMEOUT + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_RESPONSE_TIMEOUT_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_H2_ENABLED = "translator.http.h2.enabled";
+	public static final String $TRANSLATOR_HTTP_H2_ENABLED_WD = "${" + TRANSLATOR_HTTP_H2_ENABLED + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_H2_ENABLED_DEFAULT + "}";
+	public static final String TRANSLATOR_HTTP_TLS_SESSION_TIMEOUT = "translator.http.tls.session.timeout";
+	public static final String $TRANSLATOR_HTTP_TLS_SESSION_TIMEOUT_WD = "${" + TRANSLATOR_HTTP_TLS_SESSION_TIMEOUT + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.TRANSLATOR_HTTP_TLS_SESSION_TIMEOUT_DEFAULT + "}";
+	public static final String DISABLE_HOSTNAME_VERIFIER = "disable.hostname.verifier";
+	public static final String $DISABLE_HOSTNAME_VERIFIER_WD = "${" + DISABLE_HOSTNAME_VERIFIER + ":" + InterfaceTranslatorToGenericMQTTDefaults.DISABLE_HOSTNAME_VERIFIER_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED = "data.model.translator.reactive.enabled";
+	public static final String $DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED_WD = "${" + DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_LOCAL_MAPPINGS_FILE = "data.model.translator.local.mappings.file";
+	public static final String $DATA_MODEL_TRANSLATOR_LOCAL_MAPPINGS_FILE_WD = "${" + DATA_MODEL_TRANSLATOR_LOCAL_MAPPINGS_FILE + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_LOCAL_MAPPINGS_FILE_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_FAILURE_THRESHOLD = "data.model.translator.failure.threshold";
+	public static final String $DATA_MODEL_TRANSLATOR_FAILURE_THRESHOLD_WD = "${" + DATA_MODEL_TRANSLATOR_FAILURE_THRESHOLD + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_FAILURE_THRESHOLD_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_UNHEALTHY_DURATION = "data.model.translator.unhealthy.duration";
+	public static final String $DATA_MODEL_TRANSLATOR_UNHEALTHY_DURATION_WD = "${" + DATA_MODEL_TRANSLATOR_UNHEALTHY_DURATION + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_UNHEALTHY_DURATION_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_HEDGE_PERCENTILE = "data.model.translator.hedge.percentile";
+	public static final String $DATA_MODEL_TRANSLATOR_HEDGE_PERCENTILE_WD = "${" + DATA_MODEL_TRANSLATOR_HEDGE_PERCENTILE + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_HEDGE_PERCENTILE_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_HEDGE_BUDGET = "data.model.translator.hedge.budget";
+	public static final String $DATA_MODEL_TRANSLATOR_HEDGE_BUDGET_WD = "${" + DATA_MODEL_TRANSLATOR_HEDGE_BUDGET + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_HEDGE_BUDGET_DEFAULT + "}";
+	public static final String DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY = "data.model.translator.address.expiry";
+	public static final String $DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY_WD = "${" + DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY + ":"
+			+ InterfaceTranslatorToGenericMQTTDefaults.DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY_DEFAULT + "}";
 
 	public static final String HTTP_API_BASE_PATH = "/interface/translator";
 	public static final String HTTP_API_MONITOR_PATH = HTTP_API_BASE_PATH + "/monitor";
@@ -59,8 +171,12 @@ public final class InterfaceTranslatorToGenericMQTTConstants {
 	public static final String HTTP_API_OP_CHECK_TARGETS_PATH = "/check-targets";
 	public static final String HTTP_API_OP_INIT_BRIDGE_PATH = "/initialize-bridge";
 	public static final String HTTP_API_OP_ABORT_BRIDGE_PATH = "/abort-bridge";
+	public static final String HTTP_API_OP_METRICS_PATH = "/metrics";
 	public static final String HTTP_PARAM_BRIDGE_ID = "{bridgeId}";
 	public static final String HTTP_API_OP_ABORT_BRIDGE_PATH_WITH_PARAM = HTTP_API_OP_ABORT_BRIDGE_PATH + "/" + HTTP_PARAM_BRIDGE_ID;
+	public static final String HTTP_PARAM_CALLBACK_ID = "{callbackId}";
+	public static final String HTTP_API_TRANSLATION_CALLBACK_PATH = HTTP_API_BASE_PATH + "/translation/callback";
+	public static final String HTTP_API_TRANSLATION_CALLBACK_PATH_WITH_PARAM = HTTP_API_TRANSLATION_CALLBACK_PATH + "/" + HTTP_PARAM_CALLBACK_ID;
 	public static final String HTTP_PARAM_PATH_ID = "{pathId}";
 	public static final String HTTP_API_DYNAMIC_PATH = HTTP_API_BASE_PATH + "/dynamic";
 	public static final String HTTP_API_DYNAMIC_PATH_WITH_PARAM = HTTP_API_DYNAMIC_PATH + "/" + HTTP_PARAM_PATH_ID;
@@ -69,6 +185,7 @@ public final class InterfaceTranslatorToGenericMQTTConstants {
 	public static final String MQTT_DYNAMIC_BASE_TOPIC_PREFIX = "arrowhead/interface/translator/dynamic/";
 	public static final String MQTT_RESPONSE_TOPIC_SUFFIX =  UUID.randomUUID().toString();
 	public static final String MQTT_RESPONSE_TOPIC = "arrowhead/interface/provider/response/" + MQTT_RESPONSE_TOPIC_SUFFIX;
+	public static final String MQTT_RESPONSE_TOPIC_FILTER = MQTT_RESPONSE_TOPIC + "/+"; // one sub-topic per response shard
 	public static final String MQTT_GENERAL_QUEUE = "mqttGeneralQueue";
 	public static final String MQTT_ORIGINAL_MIME_TYPE = "application/json";
 
@@ -77,7 +194,14 @@ public final class InterfaceTranslatorToGenericMQTTConstants {
 	public static final String REPORT_QUEUE = "reportQueue";
 	public static final String BRIDGE_CLOSING_TRIGGER = "bridgeClosingTrigger";
 	public static final String BRIDGE_CLOSING_JOB_FACTORY = "bridgeClosingJobFactory";
-	public static final String PROVIDER_RESPONSE_MAP = "providerResponseMap";
+
+	public static final String SETTING_KEY_BRIDGE_INACTIVITY_THRESHOLD = "bridgeInactivityThreshold";
+	public static final String SETTING_KEY_PROVIDER_QOS = "providerQoS";
+	public static final String SETTING_KEY_COALESCE_PROVIDER_CALLS = "coalesceProviderCalls";
+	public static final String SETTING_KEY_RESULT_CACHE_TTL = "resultCacheTtl";
+	public static final String SETTING_KEY_CACHE_TRANSLATIONS = "cacheTranslations";
+	public static final String SETTING_KEY_HEDGE_TRANSLATIONS = "hedgeTranslations";
+	public static final String CONFIGURATION_SETTING_KEY_CALLBACK_URL = "callbackUrl"; // passed to the data model translators
 
 	//=================================================================================================
 	// assistant methods
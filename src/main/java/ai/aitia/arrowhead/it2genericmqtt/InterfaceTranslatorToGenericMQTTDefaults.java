@@ -28,6 +28,46 @@ public final class InterfaceTranslatorToGenericMQTTDefaults {
 	public static final String MQTT_HANDLER_THREADS_DEFAULT = "5";
 	public static final String PROVIDER_SERVICE_GET_RESULT_TRIES_DEFAULT = "10";
 	public static final String PROVIDER_SERVICE_GET_RESULT_WAIT_DEFAULT = "1000";
+	public static final String BRIDGE_PERSISTENCE_ENABLED_DEFAULT = "false";
+	public static final String BRIDGE_JOURNAL_FILE_DEFAULT = "bridges.journal";
+	public static final String BRIDGE_JOURNAL_INITIAL_SIZE_DEFAULT = "16777216";
+	public static final String BRIDGE_JOURNAL_COMPACTION_INTERVAL_DEFAULT = "600000";
+	public static final String COARSE_CLOCK_RESOLUTION_DEFAULT = "10";
+	public static final String BRIDGE_PIPELINE_THREADS_DEFAULT = "20";
+	public static final String PROVIDER_MQTT_POOL_MAX_CONNECTIONS_PER_BROKER_DEFAULT = "4";
+	public static final String PROVIDER_MQTT_POOL_IDLE_TIMEOUT_DEFAULT = "300000";
+	public static final String PROVIDER_MQTT_POOL_EVICTION_INTERVAL_DEFAULT = "60000";
+	public static final String MQTT_MAX_INFLIGHT_DEFAULT = "1000";
+	public static final String MQTT_RESPONSE_SHARDS_DEFAULT = "4";
+	public static final String RESULT_CACHE_MAX_BYTES_DEFAULT = "67108864";
+	public static final String PROVIDER_CORRELATION_MAX_PENDING_DEFAULT = "10000";
+	public static final String PROVIDER_CORRELATION_REAPER_INTERVAL_DEFAULT = "10000";
+	public static final String PROVIDER_ADAPTIVE_TIMEOUT_FACTOR_DEFAULT = "3.0";
+	public static final String PROVIDER_ADAPTIVE_TIMEOUT_MIN_DEFAULT = "1000";
+	public static final String PROVIDER_CIRCUIT_FAILURE_THRESHOLD_DEFAULT = "5";
+	public static final String PROVIDER_CIRCUIT_OPEN_DURATION_DEFAULT = "30000";
+	public static final String DATA_MODEL_TRANSLATOR_CALLBACK_ENABLED_DEFAULT = "false";
+	public static final String DATA_MODEL_TRANSLATOR_CALLBACK_FALLBACK_FACTOR_DEFAULT = "5";
+	public static final String TRANSLATION_CACHE_MAX_BYTES_DEFAULT = "33554432";
+	public static final String TRANSLATION_CACHE_TTL_DEFAULT = "300000";
+	public static final String DATA_MODEL_TRANSLATOR_POLLER_THREADS_DEFAULT = "4";
+	public static final String DATA_MODEL_TRANSLATOR_POLL_INITIAL_DELAY_DEFAULT = "50";
+	public static final String TRANSLATOR_HTTP_POOL_MAX_CONNECTIONS_DEFAULT = "50";
+	public static final String TRANSLATOR_HTTP_POOL_PENDING_ACQUIRE_MAX_DEFAULT = "1000";
+	public static final String TRANSLATOR_HTTP_POOL_IDLE_TIMEOUT_DEFAULT = "30000";
+	public static final String TRANSLATOR_HTTP_POOL_EVICTION_INTERVAL_DEFAULT = "60000";
+	public static final String TRANSLATOR_HTTP_CONNECT_TIMEOUT_DEFAULT = "5000";
+	public static final String TRANSLATOR_HTTP_RESPONSE_TIMEOUT_DEFAULT = "10000";
+	public static final String TRANSLATOR_HTTP_H2_ENABLED_DEFAULT = "true";
+	public static final String TRANSLATOR_HTTP_TLS_SESSION_TIMEOUT_DEFAULT = "3600";
+	public static final String DISABLE_HOSTNAME_VERIFIER_DEFAULT = "false";
+	public static final String DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED_DEFAULT = "true";
+	public static final String DATA_MODEL_TRANSLATOR_LOCAL_MAPPINGS_FILE_DEFAULT = "";
+	public static final String DATA_MODEL_TRANSLATOR_FAILURE_THRESHOLD_DEFAULT = "3";
+	public static final String DATA_MODEL_TRANSLATOR_UNHEALTHY_DURATION_DEFAULT = "10000";
+	public static final String DATA_MODEL_TRANSLATOR_HEDGE_PERCENTILE_DEFAULT = "95";
+	public static final String DATA_MODEL_TRANSLATOR_HEDGE_BUDGET_DEFAULT = "10";
+	public static final String DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY_DEFAULT = "600000";
 
 
 	//=================================================================================================
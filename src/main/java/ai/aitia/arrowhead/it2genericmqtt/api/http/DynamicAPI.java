@@ -15,30 +15,38 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.api.http;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.api.http.utils.PayloadProcessor;
 import ai.aitia.arrowhead.it2genericmqtt.service.DynamicService;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.exception.ArrowheadException;
+import eu.arrowhead.common.exception.ExternalServerError;
 import eu.arrowhead.common.http.HttpUtilities;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @Hidden
@@ -47,6 +55,9 @@ public class DynamicAPI {
 	//=================================================================================================
 	// members
 
+	private static final long TIMEOUT_MARGIN = 5000; // in millisec, the bridge normally fails by its own deadline well before
+	private static final String TIMEOUT_MSG = "Translation bridge did not respond in time";
+
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
 	@Autowired
@@ -60,55 +71,69 @@ public class DynamicAPI {
 
 	//-------------------------------------------------------------------------------------------------
 	@PostMapping(path = InterfaceTranslatorToGenericMQTTConstants.HTTP_API_DYNAMIC_PATH_WITH_PARAM)
-	public void doBridge(@PathVariable(required = true) final String pathId, final HttpServletRequest httpServletRequest, final HttpServletResponse httpServletResponse) {
+	public DeferredResult<ResponseEntity<Resource>> doBridge(@PathVariable(required = true) final String pathId, final HttpServletRequest httpServletRequest) {
 		logger.debug("doBridge started...");
 
 		final String origin = HttpMethod.POST.name() + " " + InterfaceTranslatorToGenericMQTTConstants.HTTP_API_DYNAMIC_PATH_WITH_PARAM
 				.replace(InterfaceTranslatorToGenericMQTTConstants.HTTP_PARAM_PATH_ID, pathId);
 		final String originalContentType = httpServletRequest.getHeader(HttpHeaders.CONTENT_TYPE);
+		final String acceptedContentType = httpServletRequest.getHeader(HttpHeaders.ACCEPT);
 
+		// the bridge enforces its own deadlines, this timeout is only a safety net so that no request stays open forever
+		final long deadline = service.getBridgeDeadline(pathId);
+		final DeferredResult<ResponseEntity<Resource>> deferredResult = new DeferredResult<>(
+				Math.max(0, deadline) + TIMEOUT_MARGIN,
+				() -> handleException(new ExternalServerError(TIMEOUT_MSG), origin));
 		try {
-			final String payloadBase64 = processor.extractPayload(httpServletRequest);
-			final Triple<Integer, Optional<String>, Optional<Boolean>> result = service.doBridgeOperation(pathId, payloadBase64, originalContentType, origin);
-			handleResponse(httpServletRequest, httpServletResponse, result, origin);
+			final Payload payload = processor.extractPayload(httpServletRequest);
+			service.doBridgeOperationAsync(pathId, payload, originalContentType, origin)
+					.whenComplete((result, t) -> {
+						try {
+							if (t == null) {
+								deferredResult.setResult(handleResponse(acceptedContentType, result));
+							} else {
+								deferredResult.setResult(handleException(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t, origin));
+							}
+						} catch (final Throwable ex) {
+							// e.g. the provider returned a status code that is not valid in HTTP
+							deferredResult.setResult(handleException(ex, origin));
+						}
+					});
 		} catch (final Throwable t) {
-			handleException(t, httpServletResponse, origin);
+			deferredResult.setResult(handleException(t, origin));
 		}
+
+		return deferredResult;
 	}
 
 	//=================================================================================================
 	// assistant methods
 
 	//-------------------------------------------------------------------------------------------------
-	private void handleResponse(
-			final HttpServletRequest httpServletRequest,
-			final HttpServletResponse httpServletResponse,
-			final Triple<Integer, Optional<String>, Optional<Boolean>> result,
-			final String origin) {
+	private ResponseEntity<Resource> handleResponse(final String acceptedContentType, final Triple<Integer, Optional<Payload>, Optional<Boolean>> result) {
 		logger.debug("handleResponse started...");
 
-		try {
-			final String acceptedContentType = httpServletRequest.getHeader(HttpHeaders.ACCEPT);
-			if (!Utilities.isEmpty(acceptedContentType)) {
-				httpServletResponse.setContentType(acceptedContentType);
+		final BodyBuilder builder = ResponseEntity.status(result.getLeft());
+		if (!Utilities.isEmpty(acceptedContentType)) {
+			try {
+				// a wildcard can't be a content type, the first concrete accepted type is used if there is any
+				MediaType.parseMediaTypes(acceptedContentType)
+						.stream()
+						.filter(t -> !t.isWildcardType() && !t.isWildcardSubtype())
+						.findFirst()
+						.ifPresent(t -> builder.contentType(t.removeQualityValue()));
+			} catch (final InvalidMediaTypeException ex) {
+				logger.debug("Unparsable accept header: {}", acceptedContentType);
 			}
-			httpServletResponse.setStatus(result.getLeft());
-			if (result.getMiddle().isPresent()) {
-				final byte[] resultBytes = processor.extractResult(result.getMiddle().get());
-				httpServletResponse.getOutputStream().write(resultBytes);
-				httpServletResponse.getOutputStream().flush();
-			}
-			httpServletResponse.getOutputStream().close();
-		} catch (final IOException ex) {
-			// nothing we can do
-			logger.error("{} at {}: {}", ex.getClass().getName(), origin, ex.getMessage());
-			logger.debug("Exception", ex);
 		}
 
+		return result.getMiddle().isPresent()
+				? builder.body(processor.extractResult(result.getMiddle().get()))
+				: builder.build();
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	private void handleException(final Throwable t, final HttpServletResponse response, final String origin) {
+	private ResponseEntity<Resource> handleException(final Throwable t, final String origin) {
 		logger.debug("handleException started...");
 		logger.debug("{} at {}: {}", t.getClass().getName(), origin, t.getMessage());
 		logger.debug("Exception", t);
@@ -117,16 +142,9 @@ public class DynamicAPI {
 				? HttpUtilities.calculateHttpStatusFromArrowheadException((ArrowheadException) t)
 				: HttpStatus.INTERNAL_SERVER_ERROR;
 
-		try {
-			response.setContentType(MediaType.TEXT_PLAIN_VALUE);
-			response.setStatus(status.value());
-			response.getWriter().print(status + " " + t.getMessage());
-			response.getWriter().flush();
-			response.getWriter().close();
-		} catch (final IOException ex) {
-			// nothing we can do
-			logger.error("{} at {}: {}", ex.getClass().getName(), origin, ex.getMessage());
-			logger.debug("Exception", ex);
-		}
+		return ResponseEntity
+				.status(status)
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(new ByteArrayResource((status + " " + t.getMessage()).getBytes(StandardCharsets.UTF_8)));
 	}
 }
\ No newline at end of file
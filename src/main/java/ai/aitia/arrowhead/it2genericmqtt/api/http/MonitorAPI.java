@@ -15,6 +15,11 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.api.http;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,6 +27,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import ai.aitia.arrowhead.Constants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
 import eu.arrowhead.dto.ErrorMessageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -33,6 +39,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 @RequestMapping(InterfaceTranslatorToGenericMQTTConstants.HTTP_API_MONITOR_PATH)
 public class MonitorAPI {
 
+	//=================================================================================================
+	// members
+
+	@Autowired
+	private List<MetricsSource> metricsSources;
+
 	//=================================================================================================
 	// methods
 
@@ -48,4 +60,20 @@ public class MonitorAPI {
 	public String echoService() {
 		return "Got it!";
 	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Operation(summary = "Returns the current performance metrics of the system")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = Constants.HTTP_STATUS_OK, description = Constants.SWAGGER_HTTP_200_MESSAGE, content = {
+					@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Map.class)) }),
+			@ApiResponse(responseCode = Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR, description = Constants.SWAGGER_HTTP_500_MESSAGE, content = {
+					@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ErrorMessageDTO.class)) })
+	})
+	@GetMapping(path = InterfaceTranslatorToGenericMQTTConstants.HTTP_API_OP_METRICS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+	public Map<String, Object> metrics() {
+		final Map<String, Object> result = new TreeMap<>();
+		metricsSources.forEach(s -> result.put(s.getMetricsName(), s.getMetrics()));
+
+		return result;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.api.http;
+
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import ai.aitia.arrowhead.Constants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.TranslationCallbackRegistry;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.InvalidParameterException;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+import eu.arrowhead.dto.ErrorMessageDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+public class TranslationCallbackAPI {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Autowired
+	private TranslationCallbackRegistry callbackRegistry;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Operation(summary = "Receives the result of a data model translation task.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = Constants.HTTP_STATUS_OK, description = Constants.SWAGGER_HTTP_200_MESSAGE),
+			@ApiResponse(responseCode = Constants.HTTP_STATUS_BAD_REQUEST, description = Constants.SWAGGER_HTTP_400_MESSAGE, content = {
+					@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ErrorMessageDTO.class)) }),
+			@ApiResponse(responseCode = Constants.HTTP_STATUS_INTERNAL_SERVER_ERROR, description = Constants.SWAGGER_HTTP_500_MESSAGE, content = {
+					@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ErrorMessageDTO.class)) })
+	})
+	@PostMapping(path = InterfaceTranslatorToGenericMQTTConstants.HTTP_API_TRANSLATION_CALLBACK_PATH_WITH_PARAM, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public void translationCallback(@PathVariable(required = true) final String callbackId, @RequestBody final DataModelTranslationResultResponseDTO dto) {
+		logger.debug("translationCallback started...");
+
+		final String origin = HttpMethod.POST.name() + " " + InterfaceTranslatorToGenericMQTTConstants.HTTP_API_TRANSLATION_CALLBACK_PATH_WITH_PARAM
+				.replace(InterfaceTranslatorToGenericMQTTConstants.HTTP_PARAM_CALLBACK_ID, callbackId);
+
+		if (!Utilities.isUUID(callbackId) || dto == null) {
+			throw new InvalidParameterException("Invalid callback", origin);
+		}
+
+		if (!callbackRegistry.complete(UUID.fromString(callbackId), dto)) {
+			// the translation has already finished (e.g. by the fallback polling) or it was abandoned
+			logger.debug("Translation callback is not expected: {}", callbackId);
+		}
+	}
+}
@@ -16,13 +16,15 @@
 package ai.aitia.arrowhead.it2genericmqtt.api.http.utils;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.io.InputStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.http.filter.thirdparty.MultiReadRequestWrapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,7 +41,7 @@ public class PayloadProcessor {
 	// methods
 
 	//-------------------------------------------------------------------------------------------------
-	public String extractPayload(final HttpServletRequest request) throws IOException {
+	public Payload extractPayload(final HttpServletRequest request) throws IOException {
 		logger.debug("extractPayload started...");
 
 		final MultiReadRequestWrapper wrapper = (request instanceof MultiReadRequestWrapper)
@@ -50,17 +52,56 @@ public class PayloadProcessor {
 			return null;
 		}
 
-		return new String(Base64.getEncoder().encode(wrapper.getCachedBody().getBytes()), StandardCharsets.UTF_8);
+		return Payload.of(wrapper.getCachedBody());
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public byte[] extractResult(final String resultBase64) {
+	// the response is streamed from the payload itself, without copying it into a new array
+	public Resource extractResult(final Payload result) {
 		logger.debug("extractResult started...");
 
-		if (Utilities.isEmpty(resultBase64)) {
+		if (result == null || result.isEmpty()) {
 			return null;
 		}
 
-		return Base64.getDecoder().decode(resultBase64.getBytes(StandardCharsets.UTF_8));
+		return new PayloadResource(result);
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class PayloadResource extends AbstractResource {
+
+		//=================================================================================================
+		// members
+
+		private final Payload payload;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		public PayloadResource(final Payload payload) {
+			this.payload = payload;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public InputStream getInputStream() {
+			return payload.asInputStream();
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public long contentLength() {
+			return payload.size();
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public String getDescription() {
+			return payload.toString();
+		}
 	}
 }
\ No newline at end of file
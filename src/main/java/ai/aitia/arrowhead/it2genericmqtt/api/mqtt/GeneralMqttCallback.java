@@ -27,6 +27,7 @@ import org.springframework.stereotype.Service;
 
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.GeneralMqttClient;
+import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.ProviderResponseDispatcher;
 import eu.arrowhead.common.mqtt.model.MqttMessageContainer;
 import jakarta.annotation.Resource;
 
@@ -41,6 +42,9 @@ public class GeneralMqttCallback implements MqttCallback {
 	@Autowired
 	private GeneralMqttClient client;
 
+	@Autowired
+	private ProviderResponseDispatcher responseDispatcher;
+
 	@Resource(name = InterfaceTranslatorToGenericMQTTConstants.MQTT_GENERAL_QUEUE)
 	private BlockingQueue<MqttMessageContainer> queue;
 
@@ -52,7 +56,10 @@ public class GeneralMqttCallback implements MqttCallback {
 	public void messageArrived(final String topic, final MqttMessage message) throws Exception {
 		logger.debug("messageArrived started...");
 		
-		queue.add(new MqttMessageContainer(topic, message));
+		// provider responses skip the general queue, so they never wait behind incoming bridge requests
+		if (!responseDispatcher.dispatch(topic, message)) {
+			queue.add(new MqttMessageContainer(topic, message));
+		}
 	}
 
 	//-------------------------------------------------------------------------------------------------
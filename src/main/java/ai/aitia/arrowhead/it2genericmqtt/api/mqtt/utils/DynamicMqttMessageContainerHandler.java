@@ -17,10 +17,10 @@ package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Triple;
@@ -37,6 +37,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import ai.aitia.arrowhead.Constants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.service.DynamicService;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.exception.ArrowheadException;
 import eu.arrowhead.common.exception.ExternalServerError;
@@ -205,7 +206,12 @@ public class DynamicMqttMessageContainerHandler implements Runnable {
 			final MqttResponseTemplate template = new MqttResponseTemplate(status, traceId, receiver, payload == null ? "" : payload);
 			final MqttMessage msg = new MqttMessage(mapper.writeValueAsBytes(template));
 			msg.setQos(qos == null ? Constants.MQTT_DEFAULT_QOS : qos.value());
-			client.publish(topic, msg);
+			client.publish(topic, msg).whenComplete((r, ex) -> {
+				if (ex != null) {
+					logger.error("MQTT service response failed: {}", ex.getMessage());
+					logger.debug(ex);
+				}
+			});
 		} catch (final JsonProcessingException ex) {
 			logger.debug(ex);
 			throw new InternalServerError("MQTT service response message creation failed: " + ex.getMessage());
@@ -220,21 +226,46 @@ public class DynamicMqttMessageContainerHandler implements Runnable {
 		logger.debug("DynamicMqttMessageContainerHandler.handle started...");
 
 		final String endpointId = extractEndpointId(request.getBaseTopic());
-		final String payloadBase64 = extractPayload(request);
-		final Triple<Integer, Optional<String>, Optional<Boolean>> result = service.doBridgeOperation(
+		final Payload payload = extractPayload(request);
+
+		// the handler thread is released here, the response is sent when the bridged call completes
+		service.doBridgeOperationAsync(
 				endpointId,
-				payloadBase64,
+				payload,
 				InterfaceTranslatorToGenericMQTTConstants.MQTT_ORIGINAL_MIME_TYPE,
-				request.getBaseTopic() + request.getOperation());
+				request.getBaseTopic() + request.getOperation())
+				.whenComplete((result, t) -> {
+					try {
+						if (t != null) {
+							final Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+							errorResponse(cause instanceof final Exception ex ? ex : new InternalServerError(cause.getMessage()), request);
+						} else {
+							handleResult(request, result);
+						}
+					} catch (final Exception ex) {
+						try {
+							errorResponse(ex, request);
+						} catch (final Exception errorEx) {
+							// nobody would notice the failure otherwise, the stage is already completed
+							logger.error("Unable to send MQTT error response: {}", errorEx.getMessage());
+							logger.debug(errorEx);
+						}
+					}
+				});
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void handleResult(final MqttRequestModel request, final Triple<Integer, Optional<Payload>, Optional<Boolean>> result) throws IOException {
+		logger.debug("DynamicMqttMessageContainerHandler.handleResult started...");
 
 		final int statusCode = result.getLeft();
 		Object resultPayload = null;
 		if (result.getMiddle().isPresent()) {
-			final byte[] resultBytes = extractResult(result.getMiddle().get());
+			final Payload resultBytes = result.getMiddle().get();
 			if (result.getRight().get()) {
-				resultPayload = mapper.readValue(resultBytes, Object.class);
+				resultPayload = mapper.readValue(resultBytes.asInputStream(), Object.class);
 			} else {
-				resultPayload = new String(resultBytes, StandardCharsets.UTF_8);
+				resultPayload = resultBytes.asString(StandardCharsets.UTF_8);
 			}
 		}
 
@@ -250,36 +281,22 @@ public class DynamicMqttMessageContainerHandler implements Runnable {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	private String extractPayload(final MqttRequestModel request) throws IOException {
+	private Payload extractPayload(final MqttRequestModel request) throws IOException {
 		logger.debug("extractPayload started...");
 
 		if (request.getPayload() == null) {
 			return null;
 		}
 
-		byte[] payloadBytes = null;
 		if (request.getPayload() instanceof final String strPayload) {
 			if (Utilities.isEmpty(strPayload)) {
 				return null;
 			}
 
-			payloadBytes = strPayload.getBytes();
-		} else {
-			payloadBytes = mapper.writeValueAsBytes(request.getPayload());
-		}
-
-		return new String(Base64.getEncoder().encode(payloadBytes), StandardCharsets.UTF_8);
-	}
-
-	//-------------------------------------------------------------------------------------------------
-	private byte[] extractResult(final String resultBase64) {
-		logger.debug("extractResult started...");
-
-		if (Utilities.isEmpty(resultBase64)) {
-			return null;
+			return Payload.of(strPayload);
 		}
 
-		return Base64.getDecoder().decode(resultBase64.getBytes(StandardCharsets.UTF_8));
+		return Payload.wrap(mapper.writeValueAsBytes(request.getPayload()));
 	}
 
 	//-------------------------------------------------------------------------------------------------
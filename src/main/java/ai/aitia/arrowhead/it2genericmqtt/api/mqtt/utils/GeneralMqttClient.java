@@ -15,36 +15,26 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
 
-import java.io.IOException;
-import java.security.KeyManagementException;
-import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.CertificateException;
-
-import javax.net.ssl.KeyManagerFactory;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocketFactory;
-import javax.net.ssl.TrustManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.eclipse.paho.client.mqttv3.MqttPersistenceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
-import org.springframework.util.Assert;
 
 import ai.aitia.arrowhead.Constants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
 import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.GeneralMqttCallback;
-import eu.arrowhead.common.SSLProperties;
 import eu.arrowhead.common.Utilities;
 
 @Component
@@ -55,13 +45,15 @@ public class GeneralMqttClient {
 
 	private static final String SSL_PREFIX = Constants.SSL + "://";
 	private static final String TCP_PREFIX = Constants.TCP + "://";
-	private static final String SSL_KEY_MANAGER_FACTORY_ALGORITHM = "ssl.KeyManagerFactory.algorithm";
-	private static final String SSL_TRUST_MANAGER_FACTORY_ALGORITHM = "ssl.TrustManagerFactory.algorithm";
-	private static final String TLS_VERSION = "TLSv1.2";
+	private static final int SUBSCRIBE_BATCH_SIZE = 500;
+	private static final int SUBSCRIBE_QOS = 1;
 
 	private final Logger logger = LogManager.getLogger(getClass());
 
-	private MqttClient client = null;
+	private MqttAsyncClient client = null;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$MQTT_MAX_INFLIGHT_WD)
+	private int maxInflight;
 
 	@Autowired
 	private ApplicationContext appContext;
@@ -69,6 +61,9 @@ public class GeneralMqttClient {
 	@Autowired
 	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
 
+	@Autowired
+	private MqttSslSocketFactoryProvider socketFactoryProvider;
+
 	//=================================================================================================
 	// methods
 
@@ -76,7 +71,7 @@ public class GeneralMqttClient {
 	public void initialize() throws MqttException {
 		logger.debug("GeneralMqttClient.initialize started...");
 
-		final MqttClient client = createAndConnect();
+		final MqttAsyncClient client = createAndConnect();
 		final GeneralMqttCallback callback = appContext.getBean(GeneralMqttCallback.class);
 		client.setCallback(callback);
 		this.client = client;
@@ -86,6 +81,9 @@ public class GeneralMqttClient {
 	public void destroy() throws MqttException {
 		logger.debug("GeneralMqttClient.destroy started...");
 
+		if (client.isConnected()) {
+			client.disconnect().waitForCompletion();
+		}
 		client.close();
 		client = null;
 	}
@@ -96,7 +94,26 @@ public class GeneralMqttClient {
 
 		if (client != null
 				&& !Utilities.isEmpty(topic)) {
-			client.subscribe(topic.trim());
+			client.subscribe(topic.trim(), SUBSCRIBE_QOS).waitForCompletion();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void subscribe(final List<String> topics) throws MqttException {
+		logger.debug("GeneralMqttClient.subscribe started...");
+
+		if (client != null
+				&& !Utilities.isEmpty(topics)) {
+			// subscribing in batches instead of one round trip per topic
+			for (int i = 0; i < topics.size(); i += SUBSCRIBE_BATCH_SIZE) {
+				final String[] batch = topics.subList(i, Math.min(i + SUBSCRIBE_BATCH_SIZE, topics.size()))
+						.stream()
+						.map(t -> t.trim())
+						.toArray(String[]::new);
+				final int[] qos = new int[batch.length];
+				Arrays.fill(qos, SUBSCRIBE_QOS);
+				client.subscribe(batch, qos).waitForCompletion();
+			}
 		}
 	}
 
@@ -106,7 +123,7 @@ public class GeneralMqttClient {
 
 		if (client != null
 				&& !Utilities.isEmpty(topic)) {
-			client.unsubscribe(topic.trim());
+			client.unsubscribe(topic.trim()).waitForCompletion();
 		}
 	}
 
@@ -118,21 +135,27 @@ public class GeneralMqttClient {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public void publish(final String topic, final MqttMessage msg) throws MqttPersistenceException, MqttException {
+	// does not wait for the delivery, the returned future completes when the broker acknowledged the message
+	public CompletableFuture<Void> publish(final String topic, final MqttMessage msg) throws MqttPersistenceException, MqttException {
 		logger.debug("GeneralMqttClient.publish started...");
 
+		final MqttActionFuture future = new MqttActionFuture();
 		if (client != null
 				&& !Utilities.isEmpty(topic)
 				&& msg != null) {
-			client.publish(topic.trim(), msg);
+			client.publish(topic.trim(), msg, null, future);
+		} else {
+			future.complete(null);
 		}
+
+		return future;
 	}
 
 	//=================================================================================================
 	// assistant methods
 
 	//-------------------------------------------------------------------------------------------------
-	private MqttClient createAndConnect() throws MqttException {
+	private MqttAsyncClient createAndConnect() throws MqttException {
 		logger.debug("createAndConnect started...");
 
 		final String serverURI = (sysInfo.isSslEnabled() ? SSL_PREFIX : TCP_PREFIX)
@@ -143,6 +166,7 @@ public class GeneralMqttClient {
 		final MqttConnectOptions options = new MqttConnectOptions();
 		options.setAutomaticReconnect(true);
 		options.setCleanSession(true);
+		options.setMaxInflight(maxInflight);
 		options.setUserName(sysInfo.getSystemName());
 		if (!Utilities.isEmpty(sysInfo.getMqttClientPassword())) {
 			options.setPassword(sysInfo.getMqttClientPassword().toCharArray());
@@ -150,7 +174,7 @@ public class GeneralMqttClient {
 
 		if (sysInfo.isSslEnabled()) {
 			try {
-				options.setSocketFactory(sslSettings());
+				options.setSocketFactory(socketFactoryProvider.getSslSocketFactory());
 			} catch (final Exception ex) {
 				logger.debug(ex);
 				logger.error("Creating SSL context is failed. Reason: " + ex.getMessage());
@@ -158,42 +182,9 @@ public class GeneralMqttClient {
 			}
 		}
 
-		final MqttClient client = new MqttClient(serverURI, InterfaceTranslatorToGenericMQTTConstants.MQTT_BRIDGE_BROKER_CONNECT_ID);
-		client.connect(options);
+		final MqttAsyncClient client = new MqttAsyncClient(serverURI, InterfaceTranslatorToGenericMQTTConstants.MQTT_BRIDGE_BROKER_CONNECT_ID);
+		client.connect(options).waitForCompletion();
 
 		return client;
 	}
-
-	//-------------------------------------------------------------------------------------------------
-	private SSLSocketFactory sslSettings() throws KeyStoreException, NoSuchAlgorithmException, CertificateException, IOException, UnrecoverableKeyException, KeyManagementException {
-		logger.debug("sslSettings started");
-
-		final SSLProperties sslProperties = sysInfo.getSslProperties();
-		final String messageNotDefined = " is not defined";
-		Assert.isTrue(!Utilities.isEmpty(sslProperties.getKeyStoreType()), Constants.SERVER_SSL_KEY__STORE__TYPE + messageNotDefined);
-		Assert.notNull(sslProperties.getKeyStore(), Constants.SERVER_SSL_KEY__STORE + messageNotDefined);
-		Assert.isTrue(sslProperties.getKeyStore().exists(), Constants.SERVER_SSL_KEY__STORE + " file is not found");
-		Assert.notNull(sslProperties.getKeyStorePassword(), Constants.SERVER_SSL_KEY__STORE__PASSWORD + messageNotDefined);
-		Assert.notNull(sslProperties.getKeyPassword(), Constants.SERVER_SSL_KEY__PASSWORD + messageNotDefined);
-		Assert.notNull(sslProperties.getTrustStore(), Constants.SERVER_SSL_TRUST__STORE + messageNotDefined);
-		Assert.isTrue(sslProperties.getTrustStore().exists(), Constants.SERVER_SSL_TRUST__STORE + " file is not found");
-		Assert.notNull(sslProperties.getTrustStorePassword(), Constants.SERVER_SSL_TRUST__STORE__PASSWORD + messageNotDefined);
-
-		final KeyStore keyStore = KeyStore.getInstance(sslProperties.getKeyStoreType());
-		keyStore.load(sslProperties.getKeyStore().getInputStream(), sslProperties.getKeyStorePassword().toCharArray());
-		final String kmfAlgorithm = System.getProperty(SSL_KEY_MANAGER_FACTORY_ALGORITHM, KeyManagerFactory.getDefaultAlgorithm());
-		final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(kmfAlgorithm);
-		keyManagerFactory.init(keyStore, sslProperties.getKeyStorePassword().toCharArray());
-
-		final KeyStore trustStore = KeyStore.getInstance(sslProperties.getKeyStoreType());
-		trustStore.load(sslProperties.getTrustStore().getInputStream(), sslProperties.getTrustStorePassword().toCharArray());
-		final String tmfAlgorithm = System.getProperty(SSL_TRUST_MANAGER_FACTORY_ALGORITHM, TrustManagerFactory.getDefaultAlgorithm());
-		final TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(tmfAlgorithm);
-		trustManagerFactory.init(trustStore);
-
-		final SSLContext sslContext = SSLContext.getInstance(TLS_VERSION);
-		sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
-
-		return sslContext.getSocketFactory();
-	}
 }
\ No newline at end of file
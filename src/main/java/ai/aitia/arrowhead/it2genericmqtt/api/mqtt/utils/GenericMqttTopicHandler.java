@@ -15,10 +15,7 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
@@ -31,13 +28,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
-import eu.arrowhead.common.exception.InvalidParameterException;
 import eu.arrowhead.common.mqtt.filter.ArrowheadMqttFilter;
 import eu.arrowhead.common.mqtt.model.MqttMessageContainer;
-import eu.arrowhead.dto.MqttResponseTemplate;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 
@@ -58,12 +51,6 @@ public class GenericMqttTopicHandler extends Thread {
 
 	@Resource(name = InterfaceTranslatorToGenericMQTTConstants.MQTT_GENERAL_QUEUE)
 	private BlockingQueue<MqttMessageContainer> queue;
-	
-	@Resource(name = InterfaceTranslatorToGenericMQTTConstants.PROVIDER_RESPONSE_MAP)
-	private Map<String, Optional<MqttResponseTemplate>> providerResponseMap;
-	
-	@Autowired
-	private ObjectMapper mapper;
 
 	private boolean doWork = false;
 
@@ -85,18 +72,6 @@ public class GenericMqttTopicHandler extends Thread {
 				final MqttMessageContainer msgContainer = queue.take();
 				if (msgContainer.getTopic().startsWith(InterfaceTranslatorToGenericMQTTConstants.MQTT_DYNAMIC_BASE_TOPIC_PREFIX)) {
 					threadpool.execute(messageHandlerFactory.apply(msgContainer));
-				} else if (msgContainer.getTopic().equals(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC)) {
-					try {
-						final MqttResponseTemplate template = parseMqttMessage(msgContainer);
-						if (providerResponseMap.containsKey(template.traceId())) {
-							providerResponseMap.put(template.traceId(), Optional.of(template));
-						} else {
-							logger.warn("Unexpected or late response with traceId: {}", template.traceId());
-						}
-					} catch (final Exception ex) {
-						logger.error(ex.getMessage());
-						logger.debug(ex);
-					}
 				} else {
 					logger.warn("Unexpected message to topic: {}", msgContainer.getTopic());
 				}
@@ -131,19 +106,4 @@ public class GenericMqttTopicHandler extends Thread {
 		this.threadpool = (ThreadPoolExecutor) Executors.newFixedThreadPool(numThreads);
 		filters.sort((a, b) -> a.order() - b.order());
 	}
-	
-	//-------------------------------------------------------------------------------------------------
-	private MqttResponseTemplate parseMqttMessage(final MqttMessageContainer msgContainer) {
-		logger.debug("parseMqttMessage started...");
-
-		if (msgContainer.getMessage() == null) {
-			throw new InvalidParameterException("Invalid message template: null message");
-		}
-
-		try {
-			return mapper.readValue(msgContainer.getMessage().getPayload(), MqttResponseTemplate.class);
-		} catch (final IOException ex) {
-			throw new InvalidParameterException("Invalid message template. Reason: " + ex.getMessage());
-		}
-	}
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+
+// completes when the broker acknowledged the action (according to the QoS of the message)
+final class MqttActionFuture extends CompletableFuture<Void> implements IMqttActionListener {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void onSuccess(final IMqttToken asyncActionToken) {
+		complete(null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void onFailure(final IMqttToken asyncActionToken, final Throwable exception) {
+		completeExceptionally(exception);
+	}
+}
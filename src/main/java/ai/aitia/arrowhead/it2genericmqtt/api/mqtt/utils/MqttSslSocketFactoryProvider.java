@@ -0,0 +1,65 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.SslMaterialProvider;
+
+@Component
+public class MqttSslSocketFactoryProvider {
+
+	//=================================================================================================
+	// members
+
+	private static final String TLS_VERSION = "TLSv1.2";
+
+	private final Logger logger = LogManager.getLogger(getClass());
+
+	@Autowired
+	private SslMaterialProvider sslMaterialProvider;
+
+	private SSLSocketFactory socketFactory = null;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the same key and trust material is used for every broker connection, so it is only loaded once
+	public synchronized SSLSocketFactory getSslSocketFactory() throws GeneralSecurityException, IOException {
+		logger.debug("getSslSocketFactory started...");
+
+		if (socketFactory != null) {
+			return socketFactory;
+		}
+
+		final SSLContext sslContext = SSLContext.getInstance(TLS_VERSION);
+		sslContext.init(sslMaterialProvider.getKeyManagerFactory().getKeyManagers(), sslMaterialProvider.getTrustManagerFactory().getTrustManagers(), null);
+
+		socketFactory = sslContext.getSocketFactory();
+
+		return socketFactory;
+	}
+}
@@ -0,0 +1,437 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.Constants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeStore;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderBrokerEndpoint;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+import eu.arrowhead.common.Utilities;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class ProviderMqttClientPool {
+
+	//=================================================================================================
+	// members
+
+	private static final String SSL_PREFIX = Constants.SSL + "://";
+	private static final String TCP_PREFIX = Constants.TCP + "://";
+	private static final int SUBSCRIBE_QOS = 1;
+
+	private final Logger logger = LogManager.getLogger(getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_MQTT_POOL_MAX_CONNECTIONS_PER_BROKER_WD)
+	private int maxConnectionsPerBroker;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_MQTT_POOL_IDLE_TIMEOUT_WD)
+	private long idleTimeout;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$MQTT_MAX_INFLIGHT_WD)
+	private int maxInflight;
+
+	@Autowired
+	private GeneralMqttClient generalClient;
+
+	@Autowired
+	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+
+	@Autowired
+	private MqttSslSocketFactoryProvider socketFactoryProvider;
+
+	@Autowired
+	private CoarseClock clock;
+
+	@Autowired
+	private ProviderResponseDispatcher responseDispatcher;
+
+	@Autowired
+	private BridgeStore bridgeStore;
+
+	private final Map<ProviderBrokerEndpoint, BrokerConnections> brokers = new ConcurrentHashMap<>();
+	private final AtomicInteger connectionCounter = new AtomicInteger();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// does not wait for the delivery, the returned future completes when the broker acknowledged the message
+	// the exchange is the call the message belongs to, it completes when the response arrived or the call timed out or failed
+	public CompletableFuture<Void> publish(final ProviderBrokerEndpoint broker, final String topic, final MqttMessage msg, final CompletableFuture<?> exchange) throws MqttException {
+		logger.debug("ProviderMqttClientPool.publish started...");
+		Assert.isTrue(!Utilities.isEmpty(topic), "topic is empty");
+		Assert.notNull(msg, "msg is null");
+		Assert.notNull(exchange, "exchange is null");
+
+		if (broker == null || isOwnBroker(broker)) {
+			// providers on our own broker are reached through the general connection that is already subscribed to the response topic
+			return generalClient.publish(topic, msg);
+		}
+
+		final PooledConnection connection = acquire(broker);
+
+		// a new connection may still be connecting, the message is published as soon as it is ready
+		final CompletableFuture<Void> future = connection.client.thenCompose(client -> {
+			final MqttActionFuture publishFuture = new MqttActionFuture();
+			try {
+				client.publish(topic.trim(), msg, null, publishFuture);
+			} catch (final MqttException ex) {
+				publishFuture.completeExceptionally(ex);
+			}
+
+			return publishFuture;
+		});
+
+		// the connection counts as used until the whole exchange is over, so it is not evicted while its subscription still has a response to deliver
+		exchange.whenComplete((r, ex) -> connection.release());
+
+		return future;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Scheduled(fixedDelayString = InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_MQTT_POOL_EVICTION_INTERVAL_WD,
+			initialDelayString = InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_MQTT_POOL_EVICTION_INTERVAL_WD)
+	public void evictIdleConnections() {
+		logger.debug("ProviderMqttClientPool.evictIdleConnections started...");
+
+		final long limit = clock.millis() - idleTimeout;
+		final Set<ProviderBrokerEndpoint> usedBrokers = bridgeStore.getProviderBrokers();
+		brokers.keySet().forEach(broker -> {
+			if (usedBrokers.contains(broker)) {
+				final BrokerConnections connections = brokers.get(broker);
+				if (connections != null) {
+					connections.evictIdle(limit);
+				}
+
+				return;
+			}
+
+			// no bridge reaches this broker any more, it is forgotten as soon as no call is waiting on it
+			final List<PooledConnection> retired = new ArrayList<>();
+			brokers.computeIfPresent(broker, (k, connections) -> connections.retireIfUnused(retired) ? null : connections);
+			retired.forEach(PooledConnection::close);
+		});
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("ProviderMqttClientPool.destroy started...");
+
+		brokers.values().forEach(b -> b.evictIdle(Long.MAX_VALUE));
+		brokers.clear();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private PooledConnection acquire(final ProviderBrokerEndpoint broker) {
+		logger.debug("acquire started...");
+
+		PooledConnection connection = null;
+		while (connection == null) {
+			// null means the broker has just been retired, the next lookup creates a new entry for it
+			connection = brokers.computeIfAbsent(broker, b -> new BrokerConnections(b)).acquire();
+		}
+
+		return connection;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean isOwnBroker(final ProviderBrokerEndpoint broker) {
+		logger.debug("isOwnBroker started...");
+
+		return broker.address().equalsIgnoreCase(sysInfo.getMqttBrokerAddress())
+				&& sysInfo.getMqttBrokerPort() != null
+				&& broker.port() == sysInfo.getMqttBrokerPort();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// never blocks, the connection is completed (or failed) by the callbacks of the client
+	private void connect(final ProviderBrokerEndpoint broker, final PooledConnection connection) {
+		logger.debug("connect started...");
+
+		final String serverURI = (broker.tls() ? SSL_PREFIX : TCP_PREFIX) + broker.address() + ":" + broker.port();
+
+		final MqttConnectOptions options = new MqttConnectOptions();
+		options.setAutomaticReconnect(true);
+		options.setCleanSession(true);
+		options.setMaxInflight(maxInflight);
+		options.setUserName(sysInfo.getSystemName());
+		if (!Utilities.isEmpty(sysInfo.getMqttClientPassword())) {
+			options.setPassword(sysInfo.getMqttClientPassword().toCharArray());
+		}
+
+		try {
+			if (broker.tls()) {
+				try {
+					options.setSocketFactory(socketFactoryProvider.getSslSocketFactory());
+				} catch (final Exception ex) {
+					logger.debug(ex);
+					logger.error("Creating SSL context is failed. Reason: " + ex.getMessage());
+					throw new MqttException(MqttException.REASON_CODE_SSL_CONFIG_ERROR, ex);
+				}
+			}
+
+			final MqttAsyncClient client = new MqttAsyncClient(serverURI, InterfaceTranslatorToGenericMQTTConstants.MQTT_BRIDGE_BROKER_CONNECT_ID + "-" + connectionCounter.incrementAndGet());
+			client.setCallback(new ResponseCallback(client));
+
+			final MqttActionFuture connectFuture = new MqttActionFuture();
+			client.connect(options, null, connectFuture);
+			connectFuture
+					.thenCompose(v -> {
+						// responses of the providers arrive on the same broker, every connection shares the one response topic of the system
+						final MqttActionFuture subscribeFuture = new MqttActionFuture();
+						try {
+							client.subscribe(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC_FILTER, SUBSCRIBE_QOS, null, subscribeFuture);
+						} catch (final MqttException ex) {
+							subscribeFuture.completeExceptionally(ex);
+						}
+
+						return subscribeFuture;
+					})
+					.whenComplete((v, ex) -> {
+						if (ex == null) {
+							connection.client.complete(client);
+						} else {
+							closeQuietly(client);
+							connection.client.completeExceptionally(ex);
+						}
+					});
+		} catch (final MqttException ex) {
+			connection.client.completeExceptionally(ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void closeQuietly(final MqttAsyncClient client) {
+		logger.debug("closeQuietly started...");
+
+		try {
+			if (client.isConnected()) {
+				client.disconnect().waitForCompletion();
+			}
+			client.close();
+		} catch (final MqttException ex) {
+			logger.debug("Unable to close connection to {}: {}", client.getServerURI(), ex.getMessage());
+		}
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private final class BrokerConnections {
+
+		//=================================================================================================
+		// members
+
+		private final ProviderBrokerEndpoint broker;
+		private final List<PooledConnection> connections = new ArrayList<>();
+		private boolean retired = false;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private BrokerConnections(final ProviderBrokerEndpoint broker) {
+			this.broker = broker;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// the least used connection is chosen; a new one is only opened when all of them are busy and the cap is not reached yet
+		// the lock only covers the choice, connecting happens outside of it, so a slow broker does not hold up the callers
+		// returns null if the broker has been retired
+		private PooledConnection acquire() {
+			PooledConnection best = null;
+			boolean created = false;
+			synchronized (this) {
+				if (retired) {
+					return null;
+				}
+
+				for (final PooledConnection connection : connections) {
+					if (best == null || connection.inUse.get() < best.inUse.get()) {
+						best = connection;
+					}
+				}
+
+				if (best == null || (best.inUse.get() > 0 && connections.size() < maxConnectionsPerBroker)) {
+					best = new PooledConnection();
+					connections.add(best);
+					created = true;
+				}
+
+				best.inUse.incrementAndGet();
+			}
+
+			if (created) {
+				final PooledConnection connection = best;
+				connection.client.whenComplete((client, ex) -> {
+					if (ex != null) {
+						// the next call opens a new connection
+						remove(connection);
+						logger.error("Unable to connect to provider MQTT Broker {}:{}: {}", broker.address(), broker.port(), ex.getMessage());
+					}
+				});
+				connect(broker, connection);
+			}
+
+			return best;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// returns false if a call still uses the broker, otherwise no connection is handed out any more and all of them are collected for closing
+		private synchronized boolean retireIfUnused(final List<PooledConnection> toClose) {
+			for (final PooledConnection connection : connections) {
+				if (connection.inUse.get() > 0) {
+					return false;
+				}
+			}
+
+			retired = true;
+			toClose.addAll(connections);
+			connections.clear();
+
+			return true;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private synchronized void remove(final PooledConnection connection) {
+			connections.remove(connection);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void evictIdle(final long lastUsedLimit) {
+			final List<PooledConnection> evicted = new ArrayList<>();
+			synchronized (this) {
+				connections.removeIf(connection -> {
+					if (connection.client.isDone() && connection.inUse.get() == 0 && connection.lastUsed < lastUsedLimit) {
+						evicted.add(connection);
+						return true;
+					}
+
+					return false;
+				});
+			}
+
+			// disconnecting waits for the broker, it is done without holding the lock
+			evicted.forEach(PooledConnection::close);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private final class PooledConnection {
+
+		//=================================================================================================
+		// members
+
+		private final CompletableFuture<MqttAsyncClient> client = new CompletableFuture<>(); // completed when connected and subscribed
+		private final AtomicInteger inUse = new AtomicInteger();
+		private volatile long lastUsed = clock.millis();
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private void release() {
+			lastUsed = clock.millis();
+			inUse.decrementAndGet();
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void close() {
+			if (client.isDone() && !client.isCompletedExceptionally()) {
+				closeQuietly(client.join());
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private final class ResponseCallback implements MqttCallbackExtended {
+
+		//=================================================================================================
+		// members
+
+		private final MqttAsyncClient client;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private ResponseCallback(final MqttAsyncClient client) {
+			this.client = client;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void messageArrived(final String topic, final MqttMessage message) throws Exception {
+			if (!responseDispatcher.dispatch(topic, message)) {
+				logger.warn("Unexpected message to topic: {}", topic);
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void connectComplete(final boolean reconnect, final String serverURI) {
+			if (reconnect) {
+				// clean session: the subscription is lost with the connection
+				try {
+					client.subscribe(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC_FILTER, SUBSCRIBE_QOS);
+				} catch (final MqttException ex) {
+					logger.error("Unable to resubscribe to the response topic at {}: {}", serverURI, ex.getMessage());
+				}
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void deliveryComplete(final IMqttDeliveryToken token) {
+			// nothing to do
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void connectionLost(final Throwable cause) {
+			logger.error("Provider MQTT Broker connection lost: " + client.getServerURI() + ". Reason: " + cause.getMessage());
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.ProviderCorrelationRegistry;
+import eu.arrowhead.dto.MqttResponseTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class ProviderResponseDispatcher implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String RESPONSE_TOPIC_PREFIX = InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC + "/";
+	private static final String METRICS_NAME = "providerResponseDispatcher";
+
+	private final Logger logger = LogManager.getLogger(getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$MQTT_RESPONSE_SHARDS_WD)
+	private int numShards;
+
+	@Autowired
+	private ProviderCorrelationRegistry correlationRegistry;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	private Shard[] shards;
+	private final AtomicInteger nextShard = new AtomicInteger();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public String selectResponseTopic() {
+		logger.debug("selectResponseTopic started...");
+
+		return shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)].topic;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns false if the message is not a provider response, those are handled by the general message queue
+	public boolean dispatch(final String topic, final MqttMessage message) {
+		if (!topic.startsWith(RESPONSE_TOPIC_PREFIX)) {
+			return false;
+		}
+
+		final Shard shard = findShard(topic);
+		if (shard == null) {
+			logger.warn("Unexpected message to topic: {}", topic);
+			return true;
+		}
+
+		final long arrived = System.nanoTime();
+		shard.dispatched.increment();
+		shard.executor.execute(() -> shard.handle(message, arrived));
+
+		return true;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> result = new LinkedHashMap<>(shards.length);
+		for (int i = 0; i < shards.length; ++i) {
+			result.put("shard-" + i, shards[i].getMetrics());
+		}
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("ProviderResponseDispatcher.init started...");
+
+		shards = new Shard[Math.max(1, numShards)];
+		for (int i = 0; i < shards.length; ++i) {
+			shards[i] = new Shard(i);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("ProviderResponseDispatcher.destroy started...");
+
+		for (final Shard shard : shards) {
+			shard.executor.shutdownNow();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Shard findShard(final String topic) {
+		try {
+			final int index = Integer.parseInt(topic.substring(RESPONSE_TOPIC_PREFIX.length()));
+
+			return index >= 0 && index < shards.length ? shards[index] : null;
+		} catch (final NumberFormatException __) {
+			return null;
+		}
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private final class Shard {
+
+		//=================================================================================================
+		// members
+
+		private final String topic;
+		private final ThreadPoolExecutor executor;
+
+		private final LongAdder dispatched = new LongAdder();
+		private final LongAdder matched = new LongAdder();
+		private final LongAdder unmatched = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+		private final LongAdder dispatchNanos = new LongAdder();
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private Shard(final int index) {
+			this.topic = RESPONSE_TOPIC_PREFIX + index;
+			this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+				final Thread thread = new Thread(r, "provider-response-" + index);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void handle(final MqttMessage message, final long arrived) {
+			try {
+				final MqttResponseTemplate template = mapper.readValue(message.getPayload(), MqttResponseTemplate.class);
+				if (correlationRegistry.complete(template)) {
+					matched.increment();
+				} else {
+					unmatched.increment();
+					logger.warn("Unexpected or late response with traceId: {}", template.traceId());
+				}
+			} catch (final IOException ex) {
+				failed.increment();
+				logger.error("Invalid message template. Reason: " + ex.getMessage());
+				logger.debug(ex);
+			} finally {
+				dispatchNanos.add(System.nanoTime() - arrived);
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private Map<String, Object> getMetrics() {
+			final long handled = matched.sum() + unmatched.sum() + failed.sum();
+
+			final Map<String, Object> result = new LinkedHashMap<>();
+			result.put("topic", topic);
+			result.put("dispatched", dispatched.sum());
+			result.put("matched", matched.sum());
+			result.put("unmatched", unmatched.sum());
+			result.put("failed", failed.sum());
+			result.put("queued", executor.getQueue().size());
+			result.put("avgDispatchMicros", handled == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(dispatchNanos.sum()) / handled);
+
+			return result;
+		}
+	}
+}
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.init;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
@@ -32,6 +33,8 @@ import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemI
 import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.GeneralMqttClient;
 import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.GenericMqttTopicHandler;
 import ai.aitia.arrowhead.it2genericmqtt.report.ReportThread;
+import ai.aitia.arrowhead.it2genericmqtt.service.ManagementService;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeJournal;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.init.ApplicationInitListener;
 import eu.arrowhead.dto.AuthorizationEncryptionKeyRegistrationRequestDTO;
@@ -61,6 +64,12 @@ public class InterfaceTranslatorToGenericMQTTApplicationInitListener extends App
 	@Autowired
 	private GenericMqttTopicHandler mqttTopicHandler;
 
+	@Autowired
+	private BridgeJournal bridgeJournal;
+
+	@Autowired
+	private ManagementService mgmtService;
+
 	//=================================================================================================
 	// assistant methods
 
@@ -73,13 +82,23 @@ public class InterfaceTranslatorToGenericMQTTApplicationInitListener extends App
 
 		try {
 			mqttClient.initialize();
-			mqttClient.subscribe(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC);
+			mqttClient.subscribe(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC_FILTER);
 		} catch (final MqttException ex) {
 			logger.error(ex.getMessage());
 			logger.debug(ex);
 			throw new ConfigurationException("Can't access the MQTT broker: " + ex.getMessage());
 		}
 
+		if (bridgeJournal.isEnabled()) {
+			try {
+				mgmtService.restoreBridges();
+			} catch (final IOException ex) {
+				logger.error(ex.getMessage());
+				logger.debug(ex);
+				throw new ConfigurationException("Can't restore translation bridges: " + ex.getMessage());
+			}
+		}
+
 		mqttTopicHandler.start();
 
 		if (info.isAuthorizationEnabled()) {
@@ -107,7 +126,7 @@ public class InterfaceTranslatorToGenericMQTTApplicationInitListener extends App
 		}
 
 		try {
-			mqttClient.unsubscribe(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC);
+			mqttClient.unsubscribe(InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC_FILTER);
 			mqttTopicHandler.interrupt();
 			mqttClient.destroy();
 		} catch (final MqttException ex) {
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.metrics;
+
+import java.util.Map;
+
+public interface MetricsSource {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public String getMetricsName();
+
+	//-------------------------------------------------------------------------------------------------
+	// a snapshot of the current values, it must be safe to call from any thread
+	public Map<String, Object> getMetrics();
+}
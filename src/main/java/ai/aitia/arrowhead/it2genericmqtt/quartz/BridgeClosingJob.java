@@ -15,7 +15,6 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.quartz;
 
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
@@ -26,13 +25,12 @@ import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeStore;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.NormalizedTranslationBridgeModel;
-import eu.arrowhead.common.Utilities;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
 import eu.arrowhead.dto.TranslationReportRequestDTO;
 import eu.arrowhead.dto.enums.TranslationBridgeEventState;
 import jakarta.annotation.Resource;
@@ -46,12 +44,12 @@ public class BridgeClosingJob implements Job {
 
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
-	@Value(InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_INACTIVITY_THRESHOLD_WD)
-	private int threshold;
-
 	@Autowired
 	private BridgeStore bridgeStore;
 
+	@Autowired
+	private CoarseClock clock;
+
 	@Resource(name = InterfaceTranslatorToGenericMQTTConstants.REPORT_QUEUE)
 	private BlockingQueue<TranslationReportRequestDTO> reportQueue;
 
@@ -64,13 +62,9 @@ public class BridgeClosingJob implements Job {
 		logger.debug("Login job called...");
 
 		try {
-			final ZonedDateTime now = Utilities.utcNow();
-			final ZonedDateTime thresholdTime = now.minusMinutes(threshold);
-			final List<NormalizedTranslationBridgeModel> list = bridgeStore.getBridgeModelsWithOlderActivityThan(thresholdTime);
-			list.forEach(model -> {
-				bridgeStore.removeByBridgeId(model.bridgeId());
-				sendClosedReport(model);
-			});
+			// the store only removes the expired entries themselves, never a bridge re-registered under the same id
+			final List<NormalizedTranslationBridgeModel> list = bridgeStore.removeBridgesInactiveAt(clock.millis());
+			list.forEach(model -> sendClosedReport(model));
 		} catch (final Exception ex) {
 			logger.error(ex.getMessage());
 			logger.debug(ex);
@@ -86,7 +80,7 @@ public class BridgeClosingJob implements Job {
 
 		final TranslationReportRequestDTO report = new TranslationReportRequestDTO(
 				model.bridgeId().toString(),
-				Utilities.convertZonedDateTimeToUTCString(Utilities.utcNow()),
+				clock.utcString(),
 				TranslationBridgeEventState.INTERNAL_CLOSED.name(),
 				null);
 
@@ -15,32 +15,46 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.service;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.util.Pair;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.BridgeResultCache;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.BridgeResultCache.ResultCacheKey;
 import ai.aitia.arrowhead.it2genericmqtt.service.engine.DataModelTranslatorEngine;
 import ai.aitia.arrowhead.it2genericmqtt.service.engine.ProviderDriver;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeExecutionPlan;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeStore;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.NormalizedTranslationBridgeModel;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
 import ai.aitia.arrowhead.it2genericmqtt.service.validation.DynamicServiceValidation;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.exception.ExternalServerError;
+import eu.arrowhead.common.exception.InternalServerError;
 import eu.arrowhead.common.exception.InvalidParameterException;
 import eu.arrowhead.dto.TranslationReportRequestDTO;
 import eu.arrowhead.dto.enums.TranslationBridgeEventState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
 
 @Service
@@ -68,76 +82,182 @@ public class DynamicService {
 	@Autowired
 	private ProviderDriver providerDriver;
 
+	@Autowired
+	private BridgeResultCache resultCache;
+
+	@Autowired
+	private CoarseClock clock;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_PIPELINE_THREADS_WD)
+	private int pipelineThreads;
+
+	private ExecutorService pipelineExecutor;
+
 	//=================================================================================================
 	// methods
 
 	//-------------------------------------------------------------------------------------------------
-	public Triple<Integer, Optional<String>, Optional<Boolean>> doBridgeOperation(final String endpointId, final String payloadBase64, final String originalContentType, final String origin) {
+	public Triple<Integer, Optional<Payload>, Optional<Boolean>> doBridgeOperation(final String endpointId, final Payload payload, final String originalContentType, final String origin) {
 		logger.debug("doBridgeOperation started...");
+
+		try {
+			return doBridgeOperationAsync(endpointId, payload, originalContentType, origin)
+					.toCompletableFuture()
+					.join();
+		} catch (final CompletionException ex) {
+			throw unwrap(ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// same validation, reporting and error handling as the blocking variant, but no thread is held while the provider is working
+	public CompletionStage<Triple<Integer, Optional<Payload>, Optional<Boolean>>> doBridgeOperationAsync(
+			final String endpointId,
+			final Payload payload,
+			final String originalContentType,
+			final String origin) {
+		logger.debug("doBridgeOperationAsync started...");
 		Assert.isTrue(!Utilities.isEmpty(origin), "origin is missing");
 
-		final UUID normalized = validator.validateAndNormalizeEndpointId(endpointId, origin);
-		final NormalizedTranslationBridgeModel model = bridgeStore.getByEndpointId(normalized);
+		final BridgeExecutionPlan plan;
+		try {
+			final UUID normalized = validator.validateAndNormalizeEndpointId(endpointId, origin);
+			plan = bridgeStore.getPlanByEndpointId(normalized);
+
+			// invalid target
+			if (plan == null) {
+				throw new InvalidParameterException("Request target is invalid", origin);
+			}
+
+			validator.crossCheckModelAndPayload(plan.model(), payload, origin);
+		} catch (final RuntimeException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+
+		final NormalizedTranslationBridgeModel model = plan.model();
 		final String normalizedOriginalContentType = Utilities.isEmpty(originalContentType)
 				? null
 				: originalContentType.trim();
 
-		// invalid target
-		if (model == null) {
-			throw new InvalidParameterException("Request target is invalid", origin);
+		// send report
+		sendReport(model, TranslationBridgeEventState.USED, null);
+
+		// a cached result makes both the provider call and the result translation unnecessary
+		final ResultCacheKey cacheKey = plan.resultCacheTtl() > 0 ? resultCache.createKey(plan, payload, normalizedOriginalContentType) : null;
+		if (cacheKey != null) {
+			final Triple<Integer, Optional<Payload>, Optional<Boolean>> cached = resultCache.get(plan, cacheKey);
+			if (cached != null) {
+				return CompletableFuture.completedFuture(cached);
+			}
 		}
 
-		validator.crossCheckModelAndPayload(model, payloadBase64, origin);
+		return CompletableFuture
+				// translate payload if necessary, the translator is contacted on a pipeline thread but nobody waits for its result
+				.supplyAsync(() -> handleInputPayload(plan, payload, normalizedOriginalContentType), pipelineExecutor)
+				.thenCompose(Function.identity())
+				.thenCompose(inputData -> {
+					// checking if bridge is still exists
+					if (plan.cancellation().isCancelled()) {
+						throw new ExternalServerError(ABORT_MSG);
+					}
+
+					// calling the target operation
+					return providerDriver.callOperationAsync(
+							plan.cancellation(),
+							plan.providerCall(),
+							inputData.getFirst().orElse(null),
+							inputData.getSecond().orElse(null),
+							model.authorizationToken());
+				})
+				// the response arrives on the MQTT handling thread, the rest of the work is done elsewhere
+				.thenComposeAsync(response -> {
+					validator.crossCheckModelAndResult(model, response.getMiddle(), origin);
+
+					// translate result if necessary
+					return handleResult(plan, response.getMiddle(), response.getRight())
+							.thenApply(result -> Triple.of(
+									response.getLeft(),
+									result == null ? Optional.<Payload>empty() : Optional.of(result.getFirst()),
+									result == null ? Optional.<Boolean>empty() : Optional.of(result.getSecond())));
+				}, pipelineExecutor)
+				.whenComplete((result, t) -> {
+					if (t != null) {
+						handleFailure(model, unwrap(t));
+					} else if (cacheKey != null && isSuccessful(result.getLeft())) {
+						resultCache.put(plan, cacheKey, result);
+					}
+				});
+	}
 
-		// send report
-		sendReport(model, TranslationBridgeEventState.USED, null);
+	//-------------------------------------------------------------------------------------------------
+	// returns -1 if the endpoint does not belong to an active bridge
+	public long getBridgeDeadline(final String endpointId) {
+		logger.debug("getBridgeDeadline started...");
 
 		try {
-			// translate payload if necessary
-			final Pair<Optional<byte[]>, Optional<String>> inputData = handleInputPayload(model, payloadBase64, normalizedOriginalContentType);
+			final BridgeExecutionPlan plan = bridgeStore.getPlanByEndpointId(UUID.fromString(endpointId.trim()));
 
-			// checking if bridge is still exists
-			if (!bridgeStore.containsBridgeId(model.bridgeId())) {
-				throw new ExternalServerError("Translation bridge is aborted");
-			}
+			return plan == null ? -1 : plan.deadline();
+		} catch (final RuntimeException __) {
+			return -1;
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
 
-			// calling the target operation
-			final Triple<Integer, Optional<byte[]>, Optional<Boolean>> response = providerDriver.callOperation(
-					model.bridgeId(),
-					model.operation(),
-					model.targetInterface(),
-					model.targetInterfaceProperties(),
-					inputData.getFirst().orElse(null),
-					inputData.getSecond().orElse(null),
-					model.authorizationToken(),
-					model.interfaceTranslatorSettings());
-
-			validator.crossCheckModelAndResult(model, response.getMiddle(), origin);
-
-			// translate result if necessary
-			final Pair<String, Boolean> result = handleResult(model, response.getMiddle(), response.getRight());
-
-			return Triple.of(
-					response.getLeft(),
-					result == null ? Optional.empty() : Optional.of(result.getFirst()),
-					result == null ? Optional.empty() : Optional.of(result.getSecond()));
-		} catch (final ExternalServerError ex) {
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("DynamicService.init started...");
+
+		pipelineExecutor = Executors.newFixedThreadPool(pipelineThreads);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("DynamicService.destroy started...");
+
+		pipelineExecutor.shutdownNow();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void handleFailure(final NormalizedTranslationBridgeModel model, final RuntimeException ex) {
+		logger.debug("handleFailure started...");
+
+		if (ex instanceof ExternalServerError) {
 			if (!ABORT_MSG.equals(ex.getMessage())) {
 				sendReport(model, TranslationBridgeEventState.EXTERNAL_ERROR, ex.getMessage());
 			}
-
-			bridgeStore.removeByBridgeId(model.bridgeId());
-			throw ex;
-		} catch (final Exception ex) {
+		} else {
 			sendReport(model, TranslationBridgeEventState.INTERNAL_ERROR, ex.getMessage());
-
-			bridgeStore.removeByBridgeId(model.bridgeId());
-			throw ex;
 		}
+
+		bridgeStore.removeByBridgeId(model.bridgeId());
 	}
 
-	//=================================================================================================
-	// assistant methods
+	//-------------------------------------------------------------------------------------------------
+	private RuntimeException unwrap(final Throwable t) {
+		logger.debug("unwrap started...");
+
+		final Throwable cause = (t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null
+				? t.getCause()
+				: t;
+
+		return cause instanceof final RuntimeException runtimeEx
+				? runtimeEx
+				: new InternalServerError(cause.getMessage(), cause);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean isSuccessful(final Integer status) {
+		logger.debug("isSuccessful started...");
+
+		// error responses of the provider are never served from the cache
+		// checked directly, as the provider may answer with a code that is not a valid HTTP status
+		return status != null && status >= 200 && status < 300;
+	}
 
 	//-------------------------------------------------------------------------------------------------
 	private void sendReport(final NormalizedTranslationBridgeModel model, final TranslationBridgeEventState state, final String message) {
@@ -145,7 +265,7 @@ public class DynamicService {
 
 		final TranslationReportRequestDTO report = new TranslationReportRequestDTO(
 				model.bridgeId().toString(),
-				Utilities.convertZonedDateTimeToUTCString(Utilities.utcNow()),
+				clock.utcString(),
 				state.name(),
 				message);
 
@@ -153,57 +273,57 @@ public class DynamicService {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	private Pair<Optional<byte[]>, Optional<String>> handleInputPayload(final NormalizedTranslationBridgeModel model, final String payloadBase64, final String originalContentType) {
+	private CompletableFuture<Pair<Optional<Payload>, Optional<String>>> handleInputPayload(final BridgeExecutionPlan plan, final Payload payload, final String originalContentType) {
 		logger.debug("handleInputPayload started...");
 
-		if (payloadBase64 == null) {
-			return Pair.of(Optional.empty(), Optional.empty());
+		if (payload == null) {
+			return CompletableFuture.completedFuture(Pair.of(Optional.empty(), Optional.empty()));
 		}
 
-		String input = payloadBase64;
-		String contentType = originalContentType;
-		if (model.inputDataModelTranslator() != null) {
-			final Pair<String, String> translationResult = dmEngine.translate(
-					model.bridgeId(),
-					model.inputDataModelTranslator(),
-					input,
-					model.interfaceTranslatorSettings());
-
-			input = translationResult.getFirst();
-			contentType = translationResult.getSecond();
+		if (plan.inputTranslation() == null) {
+			return CompletableFuture.completedFuture(Pair.of(Optional.of(payload), Optional.ofNullable(originalContentType)));
 		}
 
-		return Pair.of(
-				Optional.of(Base64.getDecoder().decode(input.getBytes(StandardCharsets.UTF_8))),
-				Optional.ofNullable(contentType));
+		if (plan.inputTranslation().isLocal()) {
+			// the payload is translated in-process on the pipeline thread
+			final Pair<Payload, String> translated = dmEngine.translateLocally(plan.inputTranslation(), payload);
+
+			return CompletableFuture.completedFuture(Pair.of(Optional.of(translated.getFirst()), Optional.ofNullable(translated.getSecond())));
+		}
+
+		return dmEngine.translateAsync(plan.cancellation(), plan.inputTranslation(), payload)
+				.thenApply(translationResult -> Pair.of(Optional.of(translationResult.getFirst()), Optional.ofNullable(translationResult.getSecond())));
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	private Pair<String, Boolean> handleResult(final NormalizedTranslationBridgeModel model, final Optional<byte[]> result, final Optional<Boolean> originalIsJson) {
+	// the result is null if there is nothing to return
+	private CompletableFuture<Pair<Payload, Boolean>> handleResult(final BridgeExecutionPlan plan, final Optional<Payload> result, final Optional<Boolean> originalIsJson) {
 		logger.debug("handleResult started...");
 
-		if (result.isEmpty() || result.get().length == 0) {
-			return null;
+		if (result.isEmpty() || result.get().isEmpty()) {
+			return CompletableFuture.completedFuture(null);
 		}
 
-		boolean isJson = originalIsJson.get();
-		String output = new String(Base64.getEncoder().encode(result.get()), StandardCharsets.UTF_8);
-		if (model.resultDataModelTranslator() != null) {
-			// checking if bridge is still exists
-			if (!bridgeStore.containsBridgeId(model.bridgeId())) {
-				throw new ExternalServerError("Translation bridge is aborted");
-			}
+		if (plan.resultTranslation() == null) {
+			return CompletableFuture.completedFuture(Pair.of(result.get(), originalIsJson.get()));
+		}
+
+		// checking if bridge is still exists
+		if (plan.cancellation().isCancelled()) {
+			throw new ExternalServerError(ABORT_MSG);
+		}
+
+		if (plan.resultTranslation().isLocal()) {
+			final Pair<Payload, String> translated = dmEngine.translateLocally(plan.resultTranslation(), result.get());
 
-			final Pair<String, String> translationResult = dmEngine.translate(
-					model.bridgeId(),
-					model.resultDataModelTranslator(),
-					output,
-					model.interfaceTranslatorSettings());
-			
-			output = translationResult.getFirst();
-			isJson = translationResult.getSecond().equals(MediaType.APPLICATION_JSON_VALUE);
+			return CompletableFuture.completedFuture(Pair.of(
+					translated.getFirst(),
+					MediaType.APPLICATION_JSON_VALUE.equals(translated.getSecond())));
 		}
 
-		return Pair.of(output, isJson);
+		return dmEngine.translateAsync(plan.cancellation(), plan.resultTranslation(), result.get())
+				.thenApply(translationResult -> Pair.of(
+						translationResult.getFirst(),
+						MediaType.APPLICATION_JSON_VALUE.equals(translationResult.getSecond())));
 	}
 }
\ No newline at end of file
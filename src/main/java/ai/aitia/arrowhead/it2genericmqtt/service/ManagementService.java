@@ -15,6 +15,7 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.service;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,9 @@ import org.springframework.util.Assert;
 import ai.aitia.arrowhead.Constants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.BridgeExecutionPlanCompiler;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeExecutionPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeJournal;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeStore;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.NormalizedTranslationBridgeModel;
 import ai.aitia.arrowhead.it2genericmqtt.service.validation.ManagementServiceValidation;
@@ -67,6 +71,12 @@ public class ManagementService {
 	@Autowired
 	private BridgeStore bridgeStore;
 
+	@Autowired
+	private BridgeJournal bridgeJournal;
+
+	@Autowired
+	private BridgeExecutionPlanCompiler planCompiler;
+
 	@Autowired
 	private HttpEndpointHandler httpEndpointHandler;
 
@@ -112,11 +122,15 @@ public class ManagementService {
 		final NormalizedTranslationBridgeModel normalized = validator.validateAndNormalizeTranslationBridgeInitializationRequest(dto, origin);
 		final EndpointHandler handler = getEndpointHandlerOfInterface(normalized.inputInterface());
 		try {
+			// everything that never changes during the lifetime of the bridge is resolved here once
+			final BridgeExecutionPlan plan = planCompiler.compile(normalized);
 			handler.initializeBridge(normalized);
 			final ServiceInstanceInterfaceResponseDTO result = createInitializeBridgeResult(normalized);
-			bridgeStore.add(normalized);
+			bridgeStore.add(plan);
 
 			return result;
+		} catch (final InvalidParameterException ex) {
+			throw new InvalidParameterException(ex.getMessage(), origin);
 		} catch (final InternalServerError ex) {
 			throw new InternalServerError(ex.getMessage(), origin);
 		} catch (final ExternalServerError ex) {
@@ -139,6 +153,35 @@ public class ManagementService {
 		return model != null;
 	}
 
+	//-------------------------------------------------------------------------------------------------
+	public void restoreBridges() throws IOException {
+		logger.debug("restoreBridges started...");
+
+		final List<NormalizedTranslationBridgeModel> models = bridgeJournal.replay();
+
+		// a stale record must not prevent the other bridges from being restored
+		final List<BridgeExecutionPlan> plans = new ArrayList<>(models.size());
+		for (final NormalizedTranslationBridgeModel model : models) {
+			try {
+				plans.add(planCompiler.compile(model));
+			} catch (final InvalidParameterException | IllegalArgumentException ex) {
+				logger.warn("Translation bridge {} can't be restored: {}", model.bridgeId(), ex.getMessage());
+				logger.debug(ex);
+				bridgeJournal.recordRemove(model.bridgeId());
+			}
+		}
+
+		final List<NormalizedTranslationBridgeModel> mqttModels = plans
+				.stream()
+				.map(BridgeExecutionPlan::model)
+				.filter(m -> getEndpointHandlerOfInterface(m.inputInterface()) == mqttEndpointHandler)
+				.toList();
+
+		// topics are re-subscribed in bulk before the bridges become visible
+		mqttEndpointHandler.initializeBridges(mqttModels);
+		bridgeStore.restore(plans);
+	}
+
 	//=================================================================================================
 	// assistant methods
 
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.service;
 
+import java.util.List;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.paho.client.mqttv3.MqttException;
@@ -46,10 +48,7 @@ public class MqttEndpointHandler implements EndpointHandler {
 	public void initializeBridge(final NormalizedTranslationBridgeModel model) throws InternalServerError, ExternalServerError {
 		logger.debug("MqttEndpointHandler.initializeBridge started...");
 
-		final String topic = InterfaceTranslatorToGenericMQTTConstants.MQTT_DYNAMIC_BASE_TOPIC_PREFIX
-				+ model.endpointId().toString()
-				+ "/"
-				+ model.operation();
+		final String topic = calculateTopic(model);
 		try {
 			mqttClient.subscribe(topic);
 		} catch (final MqttException ex) {
@@ -64,10 +63,7 @@ public class MqttEndpointHandler implements EndpointHandler {
 	public void abortBridge(final NormalizedTranslationBridgeModel model) throws InternalServerError, ExternalServerError {
 		logger.debug("MqttEndpointHandler.abortBridge started...");
 
-		final String topic = InterfaceTranslatorToGenericMQTTConstants.MQTT_DYNAMIC_BASE_TOPIC_PREFIX
-				+ model.endpointId().toString()
-				+ "/"
-				+ model.operation();
+		final String topic = calculateTopic(model);
 		try {
 			mqttClient.unsubscribe(topic);
 		} catch (final MqttException ex) {
@@ -75,4 +71,32 @@ public class MqttEndpointHandler implements EndpointHandler {
 			logger.debug(ex);
 		}
 	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void initializeBridges(final List<NormalizedTranslationBridgeModel> models) throws ExternalServerError {
+		logger.debug("MqttEndpointHandler.initializeBridges started...");
+
+		if (models.isEmpty()) {
+			return;
+		}
+
+		try {
+			mqttClient.subscribe(models.stream().map(m -> calculateTopic(m)).toList());
+		} catch (final MqttException ex) {
+			logger.error(ex.getMessage());
+			logger.debug(ex);
+			throw new ExternalServerError("Unable to subscribe translation bridge topics");
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private String calculateTopic(final NormalizedTranslationBridgeModel model) {
+		return InterfaceTranslatorToGenericMQTTConstants.MQTT_DYNAMIC_BASE_TOPIC_PREFIX
+				+ model.endpointId().toString()
+				+ "/"
+				+ model.operation();
+	}
 }
\ No newline at end of file
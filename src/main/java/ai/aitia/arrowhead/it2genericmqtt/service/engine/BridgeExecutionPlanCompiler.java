@@ -0,0 +1,172 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.Constants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeExecutionPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.NormalizedTranslationBridgeModel;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderBrokerEndpoint;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.InvalidParameterException;
+import eu.arrowhead.common.mqtt.MqttQoS;
+import eu.arrowhead.common.mqtt.model.MqttInterfaceModel;
+import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
+
+@Service
+public class BridgeExecutionPlanCompiler {
+
+	//=================================================================================================
+	// members
+
+	private static final int DEFAULT_REQUEST_QOS = 1; // same as the default of paho messages
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_SERVICE_GET_RESULT_TRIES_WD)
+	private int defaultProviderGetResultRetries;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_SERVICE_GET_RESULT_WAIT_WD)
+	private long defaultProviderGetResultWait;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_GET_RESULT_TRIES_WD)
+	private int defaultTranslatorGetResultRetries;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_GET_RESULT_WAIT_WD)
+	private long defaultTranslatorGetResultWait;
+
+	@Autowired
+	private TranslatorEndpointResolver endpointResolver;
+
+	@Autowired
+	private LocalDataModelTranslatorRegistry localTranslatorRegistry;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public BridgeExecutionPlan compile(final NormalizedTranslationBridgeModel model) {
+		logger.debug("compile started...");
+		Assert.notNull(model, "model is null");
+
+		final Map<String, Object> settings = model.interfaceTranslatorSettings() == null ? Map.of() : model.interfaceTranslatorSettings();
+
+		return new BridgeExecutionPlan(
+				model,
+				new BridgeCancellation(),
+				compileProviderCall(model, settings),
+				model.inputDataModelTranslator() == null ? null : compileTranslatorCall(model.inputDataModelTranslator(), settings),
+				model.resultDataModelTranslator() == null ? null : compileTranslatorCall(model.resultDataModelTranslator(), settings),
+				getSettingValue(settings, Integer.class, InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_RESULT_CACHE_TTL, 0));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private ProviderCallPlan compileProviderCall(final NormalizedTranslationBridgeModel model, final Map<String, Object> settings) {
+		logger.debug("compileProviderCall started...");
+
+		if (Utilities.isEmpty(model.operation())
+				|| Utilities.isEmpty(model.targetInterfaceProperties())
+				|| !(model.targetInterfaceProperties().get(MqttInterfaceModel.PROP_NAME_BASE_TOPIC) instanceof final String baseTopic)
+				|| Utilities.isEmpty(baseTopic)) {
+			throw new InvalidParameterException("Essential information about the target operation is missing");
+		}
+
+		// the former polling parameters define a single response deadline
+		final int tries = getSettingValue(settings, Integer.class, Constants.SETTING_KEY_PROVIDER_SERVICE_GET_RESULT_TRIES, defaultProviderGetResultRetries);
+		final long wait = getSettingValue(settings, Long.class, Constants.SETTING_KEY_PROVIDER_SERVICE_GET_RESULT_WAIT, defaultProviderGetResultWait);
+
+		// a bridge can choose a lighter delivery profile (e.g. for high-rate telemetry), it is used in both directions
+		final Integer qos = getSettingValue(settings, Integer.class, InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_PROVIDER_QOS, null);
+
+		return new ProviderCallPlan(
+				compileProviderBroker(model),
+				baseTopic,
+				baseTopic + model.operation(),
+				qos == null ? DEFAULT_REQUEST_QOS : qos,
+				qos == null ? MqttQoS.EXACTLY_ONCE.value() : qos,
+				tries * wait,
+				getSettingValue(settings, Boolean.class, InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_COALESCE_PROVIDER_CALLS, false));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private ProviderBrokerEndpoint compileProviderBroker(final NormalizedTranslationBridgeModel model) {
+		logger.debug("compileProviderBroker started...");
+
+		final Map<String, Object> properties = model.targetInterfaceProperties();
+		if (!(properties.get(MqttInterfaceModel.PROP_NAME_ACCESS_ADDRESSES) instanceof final List<?> addresses)
+				|| addresses.isEmpty()
+				|| !(properties.get(MqttInterfaceModel.PROP_NAME_ACCESS_PORT) instanceof final Integer port)) {
+			return null;
+		}
+
+		return new ProviderBrokerEndpoint(
+				addresses.get(0).toString(),
+				port,
+				Constants.GENERIC_MQTTS_INTERFACE_TEMPLATE_NAME.equals(model.targetInterface()));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private TranslatorCallPlan compileTranslatorCall(final TranslationDataModelTranslationDataDescriptorDTO translator, final Map<String, Object> settings) {
+		logger.debug("compileTranslatorCall started...");
+
+		// an in-process translator between the same models makes the remote one unnecessary
+		final LocalDataModelTranslator localTranslator = localTranslatorRegistry.find(translator.fromModelId(), translator.toModelId());
+
+		List<TranslatorEndpoints> replicas = List.of();
+		if (localTranslator == null) {
+			if (Utilities.isEmpty(translator.interfaceProperties())) {
+				throw new InvalidParameterException("Interface properties of the data model translator is missing");
+			}
+			replicas = endpointResolver.resolve(translator.interfaceProperties());
+		}
+
+		return new TranslatorCallPlan(
+				translator,
+				replicas,
+				getSettingValue(settings, Integer.class, Constants.SETTING_KEY_DATA_MODEL_TRANSLATOR_GET_RESULT_TRIES, defaultTranslatorGetResultRetries),
+				getSettingValue(settings, Long.class, Constants.SETTING_KEY_DATA_MODEL_TRANSLATOR_GET_RESULT_WAIT, defaultTranslatorGetResultWait),
+				getSettingValue(settings, Boolean.class, InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_CACHE_TRANSLATIONS, true),
+				getSettingValue(settings, Boolean.class, InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_HEDGE_TRANSLATIONS, false),
+				localTranslator);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unchecked")
+	private <T> T getSettingValue(final Map<String, Object> settings, final Class<T> type, final String key, final T defaultValue) {
+		logger.debug("BridgeExecutionPlanCompiler.getSettingValue started...");
+
+		final Object value = settings.get(key);
+
+		return (type.isInstance(value) ? (T) value : defaultValue);
+	}
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeExecutionPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import eu.arrowhead.common.exception.InternalServerError;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class BridgeResultCache implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String METRICS_NAME = "bridgeResultCache";
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final int ENTRY_OVERHEAD = 128; // estimated size of the key, the digest and the wrapper objects in bytes
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$RESULT_CACHE_MAX_BYTES_WD)
+	private long maxBytes;
+
+	private Cache<ResultCacheKey, CachedResult> cache;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public ResultCacheKey createKey(final BridgeExecutionPlan plan, final Payload payload, final String contentType) {
+		logger.debug("createKey started...");
+		Assert.notNull(plan, "plan is null");
+
+		return new ResultCacheKey(
+				plan.model().bridgeId(),
+				plan.model().operation(),
+				contentType,
+				digest(payload));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public Triple<Integer, Optional<Payload>, Optional<Boolean>> get(final BridgeExecutionPlan plan, final ResultCacheKey key) {
+		logger.debug("BridgeResultCache.get started...");
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(key, "key is null");
+
+		final CachedResult cached = cache.getIfPresent(key);
+		if (cached == null) {
+			return null;
+		}
+
+		if (cached.owner() != plan.cancellation()) {
+			// stored by a removed (or replaced) instance of the bridge
+			cache.invalidate(key);
+			return null;
+		}
+
+		return cached.result();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void put(final BridgeExecutionPlan plan, final ResultCacheKey key, final Triple<Integer, Optional<Payload>, Optional<Boolean>> result) {
+		logger.debug("BridgeResultCache.put started...");
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(key, "key is null");
+		Assert.notNull(result, "result is null");
+
+		if (plan.resultCacheTtl() <= 0 || plan.cancellation().isCancelled()) {
+			return;
+		}
+
+		cache.put(key, new CachedResult(plan.cancellation(), result, plan.resultCacheTtl()));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final CacheStats stats = cache.stats();
+
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put("entries", cache.estimatedSize());
+		result.put("hits", stats.hitCount());
+		result.put("misses", stats.missCount());
+		result.put("hitRate", stats.hitRate());
+		result.put("evictions", stats.evictionCount());
+		result.put("evictedBytes", stats.evictionWeight());
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("BridgeResultCache.init started...");
+
+		// size-based eviction of Caffeine is W-TinyLFU, so frequently read results survive a burst of one-off requests
+		cache = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((final ResultCacheKey key, final CachedResult value) -> value.weight())
+				.expireAfter(new PerEntryExpiry())
+				.recordStats()
+				.build();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private ByteBuffer digest(final Payload payload) {
+		logger.debug("digest started...");
+
+		try {
+			final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			if (payload != null) {
+				payload.updateDigest(digest);
+			}
+
+			return ByteBuffer.wrap(digest.digest()).asReadOnlyBuffer();
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new InternalServerError(ex.getMessage(), ex);
+		}
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	public record ResultCacheKey(
+			UUID bridgeId,
+			String operation,
+			String contentType,
+			ByteBuffer payloadDigest) {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private record CachedResult(
+			BridgeCancellation owner, // identifies the bridge instance that produced the result
+			Triple<Integer, Optional<Payload>, Optional<Boolean>> result,
+			long ttl) { // in millisec
+
+		//-------------------------------------------------------------------------------------------------
+		public int weight() {
+			final long size = ENTRY_OVERHEAD + (result.getMiddle().isPresent() ? result.getMiddle().get().size() : 0);
+
+			return (int) Math.min(Integer.MAX_VALUE, size);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class PerEntryExpiry implements Expiry<ResultCacheKey, CachedResult> {
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public long expireAfterCreate(final ResultCacheKey key, final CachedResult value, final long currentTime) {
+			return TimeUnit.MILLISECONDS.toNanos(value.ttl());
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public long expireAfterUpdate(final ResultCacheKey key, final CachedResult value, final long currentTime, final long currentDuration) {
+			return TimeUnit.MILLISECONDS.toNanos(value.ttl());
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public long expireAfterRead(final ResultCacheKey key, final CachedResult value, final long currentTime, final long currentDuration) {
+			// reading does not extend the life of a result
+			return currentDuration;
+		}
+	}
+}
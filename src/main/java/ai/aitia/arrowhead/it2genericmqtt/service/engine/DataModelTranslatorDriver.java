@@ -15,25 +15,21 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.service.engine;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
-import org.springframework.web.util.UriComponents;
 
-import ai.aitia.arrowhead.Constants;
-import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorOperationPlan;
 import eu.arrowhead.common.Utilities;
-import eu.arrowhead.common.exception.ArrowheadException;
-import eu.arrowhead.common.http.HttpService;
-import eu.arrowhead.common.http.HttpUtilities;
-import eu.arrowhead.common.http.model.HttpInterfaceModel;
-import eu.arrowhead.common.http.model.HttpOperationModel;
 import eu.arrowhead.dto.DataModelTranslationInitRequestDTO;
 import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
 import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
@@ -44,53 +40,27 @@ public class DataModelTranslatorDriver {
 	//=================================================================================================
 	// members
 
-	private static final String QUERY_PARAM_TASK_ID = "taskId";
-
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
 	@Autowired
-	private HttpService httpService;
-
-	@Autowired
-	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+	private TranslatorHttpClient httpClient;
 
 	//=================================================================================================
 	// members
 
 	//-------------------------------------------------------------------------------------------------
-	@SuppressWarnings("unchecked")
-	public String initTranslation(final TranslationDataModelTranslationDataDescriptorDTO translator, final String input) {
+	public String initTranslation(final TranslatorCallPlan plan, final TranslatorEndpoints endpoints, final Payload input, final String callbackUrl) {
 		logger.debug("initTranslation started...");
-		Assert.notNull(translator, "translator is null");
-		Assert.isTrue(!Utilities.isEmpty(translator.interfaceProperties()), "Interface properties is missing");
-		Assert.isTrue(!Utilities.isEmpty(input), "input is missing");
-
-		HttpMethod method = HttpMethod.POST; // default method
-		String operationPath = "/init-translation"; // default path
-		final String scheme = sysInfo.isSslEnabled() ? Constants.HTTPS : Constants.HTTP;
-		final Map<String, Object> interfaceProperties = translator.interfaceProperties();
-		final String host = ((List<String>) interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_ADDRESSES)).get(0);
-		final int port = (int) interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_PORT);
-		final String basePath = interfaceProperties.get(HttpInterfaceModel.PROP_NAME_BASE_PATH).toString();
-		if (interfaceProperties.containsKey(HttpInterfaceModel.PROP_NAME_OPERATIONS)
-				&& (interfaceProperties.get(HttpInterfaceModel.PROP_NAME_OPERATIONS) instanceof final Map operationsMap)
-				&& operationsMap.containsKey(Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_INIT_TRANSLATION)) {
-			final Object value = operationsMap.get(Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_INIT_TRANSLATION);
-			try {
-				final HttpOperationModel model = Utilities.fromJson(Utilities.toJson(value), HttpOperationModel.class);
-				method = HttpMethod.valueOf(model.method());
-				operationPath = model.path();
-			} catch (final ArrowheadException ex) {
-				logger.warn("Invalid operations property for data model translator at {}:{}", host, port);
-			}
-		}
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(endpoints, "endpoints is null");
+		Assert.isTrue(input != null && !input.isEmpty(), "input is missing");
 
-		final UriComponents uri = HttpUtilities.createURI(scheme, host, port, basePath + operationPath);
-		final DataModelTranslationInitRequestDTO translationPayload = createTranslationPayload(translator, input);
+		final TranslatorOperationPlan operation = endpoints.initTranslation();
+		final DataModelTranslationInitRequestDTO translationPayload = createTranslationPayload(plan.translator(), input, callbackUrl);
 
-		final String taskId = httpService.sendRequest(
-				uri,
-				method,
+		final String taskId = httpClient.sendRequest(
+				operation.uri(),
+				operation.method(),
 				String.class,
 				translationPayload);
 
@@ -98,34 +68,14 @@ public class DataModelTranslatorDriver {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	@SuppressWarnings("unchecked")
-	public void abortTranslation(final String taskId, final Map<String, Object> interfaceProperties) {
+	public void abortTranslation(final String taskId, final TranslatorEndpoints endpoints) {
 		logger.debug("abortTranslation started...");
 		Assert.isTrue(!Utilities.isEmpty(taskId), "Task identifier is missing");
-		Assert.isTrue(!Utilities.isEmpty(interfaceProperties), "Interface properties is missing");
-
-		HttpMethod method = HttpMethod.DELETE; // default method
-		String operationPath = "/abort-translation"; // default path
-		final String scheme = sysInfo.isSslEnabled() ? Constants.HTTPS : Constants.HTTP;
-		final String host = ((List<String>) interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_ADDRESSES)).get(0);
-		final int port = (int) interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_PORT);
-		final String basePath = interfaceProperties.get(HttpInterfaceModel.PROP_NAME_BASE_PATH).toString();
-		if (interfaceProperties.containsKey(HttpInterfaceModel.PROP_NAME_OPERATIONS)
-				&& (interfaceProperties.get(HttpInterfaceModel.PROP_NAME_OPERATIONS) instanceof final Map operationsMap)
-				&& operationsMap.containsKey(Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_ABORT_TRANSLATION)) {
-			final Object value = operationsMap.get(Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_ABORT_TRANSLATION);
-			try {
-				final HttpOperationModel model = Utilities.fromJson(Utilities.toJson(value), HttpOperationModel.class);
-				method = HttpMethod.valueOf(model.method());
-				operationPath = model.path();
-			} catch (final ArrowheadException ex) {
-				logger.warn("Invalid operations property for data model translator at {}:{}", host, port);
-			}
-		}
+		Assert.notNull(endpoints, "endpoints is null");
 
-		final UriComponents uri = HttpUtilities.createURI(scheme, host, port, basePath + operationPath, QUERY_PARAM_TASK_ID, taskId);
+		final TranslatorOperationPlan operation = endpoints.abortTranslation();
 		try {
-			httpService.sendRequest(uri, method, Void.TYPE);
+			httpClient.sendRequest(operation.taskUri(taskId), operation.method(), Void.TYPE);
 		} catch (final Exception ex) {
 			logger.error("Error during data model translation abort: {}", ex.getMessage());
 			logger.debug(ex);
@@ -133,54 +83,37 @@ public class DataModelTranslatorDriver {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	@SuppressWarnings("unchecked")
-	public DataModelTranslationResultResponseDTO getTranslationResult(final String taskId, final Map<String, Object> interfaceProperties) {
+	public DataModelTranslationResultResponseDTO getTranslationResult(final String taskId, final TranslatorEndpoints endpoints) {
 		logger.debug("getTranslationResult started...");
 		Assert.isTrue(!Utilities.isEmpty(taskId), "Task identifier is missing");
-		Assert.isTrue(!Utilities.isEmpty(interfaceProperties), "Interface properties is missing");
-
-		HttpMethod method = HttpMethod.GET; // default method
-		String operationPath = "/get-translation-result"; // default path
-		final String scheme = sysInfo.isSslEnabled() ? Constants.HTTPS : Constants.HTTP;
-		final String host = ((List<String>) interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_ADDRESSES)).get(0);
-		final int port = (int) interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_PORT);
-		final String basePath = interfaceProperties.get(HttpInterfaceModel.PROP_NAME_BASE_PATH).toString();
-		if (interfaceProperties.containsKey(HttpInterfaceModel.PROP_NAME_OPERATIONS)
-				&& (interfaceProperties.get(HttpInterfaceModel.PROP_NAME_OPERATIONS) instanceof final Map operationsMap)
-				&& operationsMap.containsKey(Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_GET_TRANSLATION_RESULT)) {
-			final Object value = operationsMap.get(Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_GET_TRANSLATION_RESULT);
-			try {
-				final HttpOperationModel model = Utilities.fromJson(Utilities.toJson(value), HttpOperationModel.class);
-				method = HttpMethod.valueOf(model.method());
-				operationPath = model.path();
-			} catch (final ArrowheadException ex) {
-				logger.warn("Invalid operations property for data model translator at {}:{}", host, port);
-			}
-		}
+		Assert.notNull(endpoints, "endpoints is null");
 
-		final UriComponents uri = HttpUtilities.createURI(scheme, host, port, basePath + operationPath, QUERY_PARAM_TASK_ID, taskId);
+		final TranslatorOperationPlan operation = endpoints.getTranslationResult();
 
-		final DataModelTranslationResultResponseDTO response = httpService.sendRequest(
-				uri,
-				method,
+		final DataModelTranslationResultResponseDTO response = httpClient.sendRequest(
+				operation.taskUri(taskId),
+				operation.method(),
 				DataModelTranslationResultResponseDTO.class);
 
 		return response;
 	}
 
-	//=================================================================================================
-	// assistant methods
-
 	//-------------------------------------------------------------------------------------------------
-	private DataModelTranslationInitRequestDTO createTranslationPayload(final TranslationDataModelTranslationDataDescriptorDTO translator, final String input) {
-		logger.debug("createTranslationPayload started...");
+	// shared with the non-blocking driver
+	static DataModelTranslationInitRequestDTO createTranslationPayload(final TranslationDataModelTranslationDataDescriptorDTO translator, final Payload input, final String callbackUrl) {
 		Assert.isTrue(!Utilities.isEmpty(translator.fromModelId()), "Input model id is missing");
 		Assert.isTrue(!Utilities.isEmpty(translator.toModelId()), "Output model id is missing");
 
+		Map<String, Object> configurationSettings = translator.configurationSettings();
+		if (callbackUrl != null) {
+			configurationSettings = configurationSettings == null ? new HashMap<>() : new HashMap<>(configurationSettings);
+			configurationSettings.put(InterfaceTranslatorToGenericMQTTConstants.CONFIGURATION_SETTING_KEY_CALLBACK_URL, callbackUrl);
+		}
+
 		return new DataModelTranslationInitRequestDTO(
 				translator.fromModelId(),
 				translator.toModelId(),
-				input,
-				translator.configurationSettings());
+				input.toBase64(),
+				configurationSettings);
 	}
 }
\ No newline at end of file
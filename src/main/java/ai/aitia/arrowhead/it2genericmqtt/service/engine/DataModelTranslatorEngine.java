@@ -15,8 +15,12 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.service.engine;
 
-import java.util.Map;
-import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -26,13 +30,17 @@ import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
-import ai.aitia.arrowhead.Constants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
-import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeStore;
-import eu.arrowhead.common.Utilities;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.TranslationCallbackRegistry.TranslationCallback;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.TranslationHedgingPolicy.Translator;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.TranslationResultCache.TranslationCacheKey;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import eu.arrowhead.common.exception.ArrowheadException;
 import eu.arrowhead.common.exception.ExternalServerError;
-import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
-import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
+import eu.arrowhead.common.exception.InternalServerError;
 
 @Service
 public class DataModelTranslatorEngine {
@@ -42,77 +50,257 @@ public class DataModelTranslatorEngine {
 
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
-	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_GET_RESULT_TRIES_WD)
-	private int defaultGetResultRetries;
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED_WD)
+	private boolean reactiveEnabled;
 
-	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_GET_RESULT_WAIT_WD)
-	private long defaultGetResultWait;
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_CALLBACK_ENABLED_WD)
+	private boolean callbackEnabled;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_CALLBACK_FALLBACK_FACTOR_WD)
+	private int callbackFallbackFactor;
 
 	@Autowired
 	private DataModelTranslatorDriver dmDriver;
 
 	@Autowired
-	private BridgeStore bridgeStore;
+	private ReactiveDataModelTranslatorDriver reactiveDmDriver;
+
+	@Autowired
+	private TranslationCallbackRegistry callbackRegistry;
+
+	@Autowired
+	private TranslationResultCache translationCache;
+
+	@Autowired
+	private TranslationTaskPoller poller;
+
+	@Autowired
+	private TranslatorLoadBalancer loadBalancer;
+
+	@Autowired
+	private TranslationHedgingPolicy hedgingPolicy;
 
 	//=================================================================================================
 	// methods
 
 	//-------------------------------------------------------------------------------------------------
-	public Pair<String, String> translate(final UUID bridgeId, final TranslationDataModelTranslationDataDescriptorDTO translator, final String input, final Map<String, Object> settings) {
-		logger.debug("DataModelTranslatorEngine.translate started...");
-		Assert.notNull(bridgeId, "bridgeId is null");
-		Assert.notNull(translator, "translator is null");
-		Assert.isTrue(!Utilities.isEmpty(input), "input is missing");
-
-		final int tries = getSettingValue(settings, Integer.class, Constants.SETTING_KEY_DATA_MODEL_TRANSLATOR_GET_RESULT_TRIES, defaultGetResultRetries);
-		final long wait = getSettingValue(settings, Long.class, Constants.SETTING_KEY_DATA_MODEL_TRANSLATOR_GET_RESULT_WAIT, defaultGetResultWait);
-
-		final String taskId = dmDriver.initTranslation(translator, input);
-
-		for (int i = 0; i < tries; ++i) {
-			if (!bridgeStore.containsBridgeId(bridgeId)) {
-				// abort happened during the translation
-				dmDriver.abortTranslation(taskId, translator.interfaceProperties());
-				throw new ExternalServerError("Translation bridge is aborted");
+	// no thread waits for the result of the translation (and with the non-blocking driver not even for its initiation)
+	public CompletableFuture<Pair<Payload, String>> translateAsync(final BridgeCancellation cancellation, final TranslatorCallPlan plan, final Payload input) {
+		logger.debug("DataModelTranslatorEngine.translateAsync started...");
+		Assert.notNull(cancellation, "cancellation is null");
+		Assert.notNull(plan, "plan is null");
+		Assert.isTrue(input != null && !input.isEmpty(), "input is missing");
+		Assert.isTrue(!plan.isLocal(), "Translation is local");
+
+		if (!plan.cacheable()) {
+			return translateRemotely(cancellation, plan, input);
+		}
+
+		// the same input always gives the same result, so the remote translation can be skipped
+		final TranslationCacheKey key = translationCache.createKey(plan, input);
+		final Pair<Payload, String> cached = translationCache.get(plan, key);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		return translateRemotely(cancellation, plan, input)
+				.thenApply(result -> {
+					translationCache.put(key, result);
+					return result;
+				});
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// runs on the calling thread, the payloads are not Base64 encoded as no DTO is involved
+	public Pair<Payload, String> translateLocally(final TranslatorCallPlan plan, final Payload input) {
+		logger.debug("DataModelTranslatorEngine.translateLocally started...");
+		Assert.notNull(plan, "plan is null");
+		Assert.isTrue(plan.isLocal(), "Translation is not local");
+		Assert.notNull(input, "input is null");
+
+		final Pair<Payload, String> result;
+		try {
+			result = plan.localTranslator().translate(input, plan.translator().configurationSettings());
+		} catch (final ArrowheadException ex) {
+			throw ex;
+		} catch (final RuntimeException ex) {
+			// same as an ERROR status from a remote translator
+			throw new ExternalServerError("Local data model translation failed: " + ex.getMessage(), ex);
+		}
+
+		if (result == null || result.getFirst() == null) {
+			throw new ExternalServerError("Local data model translation failed: no result");
+		}
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<Pair<Payload, String>> translateRemotely(final BridgeCancellation cancellation, final TranslatorCallPlan plan, final Payload input) {
+		logger.debug("translateRemotely started...");
+
+		final Translator translator = hedgingPolicy.getTranslator(plan);
+		final long hedgeDelay = translator.onRequest();
+		if (!plan.hedged() || plan.replicas().size() < 2 || hedgeDelay < 0) {
+			return attempt(cancellation, plan, input, new CopyOnWriteArrayList<>(), translator);
+		}
+
+		final HedgedTranslation hedged = new HedgedTranslation();
+		final List<TranslatorEndpoints> primaryTried = new CopyOnWriteArrayList<>();
+		startHedgedAttempt(hedged, cancellation, plan, input, primaryTried, translator, false);
+
+		// the losing attempt is aborted at the translator, the finished ones are just detached from the bridge
+		hedged.result.whenComplete((result, ex) -> hedged.attempts.forEach(BridgeCancellation::cancelChild));
+
+		// a translation still running at the given percentile of the recent latencies is duplicated on another address
+		CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(() -> {
+			if (hedged.result.isDone() || cancellation.isCancelled() || primaryTried.size() >= plan.replicas().size()) {
+				return;
 			}
 
-			final DataModelTranslationResultResponseDTO response = dmDriver.getTranslationResult(taskId, translator.interfaceProperties());
+			if (translator.tryAcquireHedge()) {
+				startHedgedAttempt(hedged, cancellation, plan, input, new CopyOnWriteArrayList<>(primaryTried), translator, true);
+			}
+		});
+
+		return hedged.result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the first successful attempt wins
+	private void startHedgedAttempt(
+			final HedgedTranslation hedged,
+			final BridgeCancellation cancellation,
+			final TranslatorCallPlan plan,
+			final Payload input,
+			final List<TranslatorEndpoints> tried,
+			final Translator translator,
+			final boolean hedge) {
+		logger.debug("startHedgedAttempt started...");
 
-			switch (response.status()) {
-			case PENDING:
-			case IN_PROGRESS:
-				try {
-					Thread.sleep(wait);
-				} catch (final InterruptedException __) {
-					// nothing to do
+		final BridgeCancellation attemptCancellation = cancellation.createChild();
+		hedged.attempts.add(attemptCancellation);
+		hedged.running.incrementAndGet();
+
+		final CompletableFuture<Pair<Payload, String>> attempt = attempt(attemptCancellation, plan, input, tried, translator);
+		attempt.whenComplete((result, ex) -> {
+			if (ex == null) {
+				if (hedged.result.complete(result) && hedge) {
+					translator.onHedgeWin();
 				}
-				break;
-			case DONE:
-				return Pair.of(
-						response.result(),
-						response.mimeType());
-			case ERROR:
-				throw new ExternalServerError(response.result());
-			default:
-				throw new IllegalArgumentException("Unknown status: " + response.status().toString());
+			} else if (hedged.running.decrementAndGet() == 0) {
+				// the translation fails only if no attempt is left that could still succeed
+				hedged.result.completeExceptionally(ex);
+			}
+		});
+
+		if (hedged.result.isDone()) {
+			// the translation finished while this attempt was started
+			attemptCancellation.cancelChild();
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<Pair<Payload, String>> attempt(
+			final BridgeCancellation cancellation,
+			final TranslatorCallPlan plan,
+			final Payload input,
+			final List<TranslatorEndpoints> tried,
+			final Translator translator) {
+		logger.debug("attempt started...");
+
+		final long start = System.nanoTime();
+
+		// with callbacks the polling is only a fallback for lost callbacks, so it can be sparser
+		final TranslationCallback callback = callbackEnabled ? callbackRegistry.register() : null;
+		final long maxDelay = callback == null ? plan.waitMillis() : plan.waitMillis() * Math.max(1, callbackFallbackFactor);
+
+		return startTranslation(plan, input, callback, tried)
+				.thenCompose(task -> poller.track(cancellation, plan, task.endpoints(), task.taskId(), callback, maxDelay)
+						.whenComplete((result, ex) -> loadBalancer.release(task.endpoints())))
+				.whenComplete((result, ex) -> {
+					if (ex == null) {
+						translator.onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					} else if (callback != null) {
+						// a failed initiation never reaches the poller, which releases the callback otherwise
+						callback.release();
+					}
+				});
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// if an address does not accept the task, the next one is tried until every address of the translator has failed
+	private CompletableFuture<StartedTask> startTranslation(final TranslatorCallPlan plan, final Payload input, final TranslationCallback callback, final List<TranslatorEndpoints> tried) {
+		logger.debug("startTranslation started...");
+
+		final TranslatorEndpoints endpoints = loadBalancer.choose(plan.replicas(), tried);
+		if (endpoints == null) {
+			return CompletableFuture.failedFuture(new InternalServerError("Data model translator has no access address"));
+		}
+
+		tried.add(endpoints);
+		loadBalancer.acquire(endpoints);
+
+		return initTranslation(plan, endpoints, input, callback)
+				.handle((taskId, ex) -> {
+					if (ex == null) {
+						loadBalancer.recordSuccess(endpoints);
+						return CompletableFuture.completedFuture(new StartedTask(endpoints, taskId));
+					}
+
+					loadBalancer.release(endpoints);
+					loadBalancer.recordFailure(endpoints);
+					if (tried.size() >= plan.replicas().size()) {
+						return CompletableFuture.<StartedTask>failedFuture(ex);
+					}
+
+					logger.debug("Data model translator address {} failed, trying another one: {}", endpoints.address(), ex.getMessage());
+					loadBalancer.recordFailover(endpoints);
+
+					return startTranslation(plan, input, callback, tried);
+				})
+				.thenCompose(Function.identity());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<String> initTranslation(final TranslatorCallPlan plan, final TranslatorEndpoints endpoints, final Payload input, final TranslationCallback callback) {
+		logger.debug("initTranslation started...");
+
+		final String callbackUrl = callback == null ? null : callback.url();
+		if (reactiveEnabled) {
+			try {
+				return reactiveDmDriver.initTranslation(plan, endpoints, input, callbackUrl).toFuture();
+			} catch (final RuntimeException ex) {
+				return CompletableFuture.failedFuture(ex);
 			}
 		}
 
-		// it takes too much time
-		dmDriver.abortTranslation(taskId, translator.interfaceProperties());
-		throw new ExternalServerError("Data model translator did not respond in time");
+		try {
+			return CompletableFuture.completedFuture(dmDriver.initTranslation(plan, endpoints, input, callbackUrl));
+		} catch (final RuntimeException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
 	}
 
 	//=================================================================================================
-	// assistant methods
+	// nested structures
 
 	//-------------------------------------------------------------------------------------------------
-	@SuppressWarnings("unchecked")
-	private <T> T getSettingValue(final Map<String, Object> settings, final Class<T> type, final String key, final T defaultValue) {
-		logger.debug("DataModelTranslatorEngine.getSettingValue started...");
+	private static final class HedgedTranslation {
+
+		//=================================================================================================
+		// members
 
-		final Object value = settings.get(key);
+		private final CompletableFuture<Pair<Payload, String>> result = new CompletableFuture<>();
+		private final List<BridgeCancellation> attempts = new CopyOnWriteArrayList<>();
+		private final AtomicInteger running = new AtomicInteger();
+	}
 
-		return (type.isInstance(value) ? (T) value : defaultValue);
+	//-------------------------------------------------------------------------------------------------
+	// the task has to be tracked on the address that accepted it
+	private record StartedTask(TranslatorEndpoints endpoints, String taskId) {
 	}
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.util.Pair;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import eu.arrowhead.common.Utilities;
+
+// builds a new JSON document by copying values from the input, numeric values can be converted linearly (e.g. units)
+public class JsonPointerDataModelTranslator implements LocalDataModelTranslator {
+
+	//=================================================================================================
+	// members
+
+	public static final String MAPPING_SOURCE = "source";
+	public static final String MAPPING_SCALE = "scale";
+	public static final String MAPPING_OFFSET = "offset";
+
+	private final String fromModelId;
+	private final String toModelId;
+	private final List<FieldMapping> fieldMappings;
+	private final ObjectMapper mapper;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the keys of the mappings are the target pointers, the values are either source pointers or objects with source, scale and offset
+	public JsonPointerDataModelTranslator(final String fromModelId, final String toModelId, final Map<String, Object> mappings, final ObjectMapper mapper) {
+		Assert.isTrue(!Utilities.isEmpty(fromModelId), "fromModelId is missing");
+		Assert.isTrue(!Utilities.isEmpty(toModelId), "toModelId is missing");
+		Assert.isTrue(!Utilities.isEmpty(mappings), "mappings is missing");
+		Assert.notNull(mapper, "mapper is null");
+
+		this.fromModelId = fromModelId;
+		this.toModelId = toModelId;
+		this.mapper = mapper;
+		this.fieldMappings = new ArrayList<>(mappings.size());
+		mappings.forEach((target, source) -> fieldMappings.add(parseMapping(target, source)));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getFromModelId() {
+		return fromModelId;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getToModelId() {
+		return toModelId;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Pair<Payload, String> translate(final Payload input, final Map<String, Object> configurationSettings) {
+		final JsonNode source;
+		try {
+			source = mapper.readTree(input.asInputStream());
+		} catch (final IOException ex) {
+			throw new IllegalArgumentException("Input is not a valid JSON document: " + ex.getMessage(), ex);
+		}
+
+		final ObjectNode result = mapper.createObjectNode();
+		for (final FieldMapping fieldMapping : fieldMappings) {
+			final JsonNode value = source.at(fieldMapping.source());
+			if (value.isMissingNode()) {
+				// optional fields of the input model are simply left out
+				continue;
+			}
+
+			set(result, fieldMapping.target(), convert(fieldMapping, value));
+		}
+
+		try {
+			return Pair.of(Payload.wrap(mapper.writeValueAsBytes(result)), MediaType.APPLICATION_JSON_VALUE);
+		} catch (final IOException ex) {
+			throw new IllegalStateException(ex.getMessage(), ex);
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private static FieldMapping parseMapping(final String target, final Object source) {
+		Assert.isTrue(!Utilities.isEmpty(target) && !"/".equals(target), "Invalid target pointer: " + target);
+
+		if (source instanceof final String sourcePointer) {
+			return new FieldMapping(JsonPointer.compile(target), JsonPointer.compile(sourcePointer), null, null);
+		}
+
+		Assert.isTrue(source instanceof Map<?, ?>, "Invalid mapping for " + target);
+		final Map<?, ?> definition = (Map<?, ?>) source;
+		Assert.isTrue(definition.get(MAPPING_SOURCE) instanceof String, "Source pointer is missing for " + target);
+		Assert.isTrue(definition.get(MAPPING_SCALE) == null || definition.get(MAPPING_SCALE) instanceof Number, "Invalid scale for " + target);
+		Assert.isTrue(definition.get(MAPPING_OFFSET) == null || definition.get(MAPPING_OFFSET) instanceof Number, "Invalid offset for " + target);
+
+		return new FieldMapping(
+				JsonPointer.compile(target),
+				JsonPointer.compile((String) definition.get(MAPPING_SOURCE)),
+				definition.get(MAPPING_SCALE) == null ? null : ((Number) definition.get(MAPPING_SCALE)).doubleValue(),
+				definition.get(MAPPING_OFFSET) == null ? null : ((Number) definition.get(MAPPING_OFFSET)).doubleValue());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static JsonNode convert(final FieldMapping fieldMapping, final JsonNode value) {
+		if (fieldMapping.scale() == null && fieldMapping.offset() == null) {
+			return value;
+		}
+
+		if (!value.isNumber()) {
+			throw new IllegalArgumentException("Value at " + fieldMapping.source() + " is not a number");
+		}
+
+		final double scale = fieldMapping.scale() == null ? 1 : fieldMapping.scale();
+		final double offset = fieldMapping.offset() == null ? 0 : fieldMapping.offset();
+
+		return DoubleNode.valueOf(value.asDouble() * scale + offset);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static void set(final ObjectNode root, final JsonPointer target, final JsonNode value) {
+		ObjectNode current = root;
+		JsonPointer pointer = target;
+
+		// intermediate objects are created on demand
+		while (!pointer.tail().matches()) {
+			final String name = pointer.getMatchingProperty();
+			if (!(current.get(name) instanceof final ObjectNode child)) {
+				current = current.putObject(name);
+			} else {
+				current = child;
+			}
+
+			pointer = pointer.tail();
+		}
+
+		current.set(pointer.getMatchingProperty(), value);
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record FieldMapping(JsonPointer target, JsonPointer source, Double scale, Double offset) {
+	}
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.Map;
+
+import org.springframework.data.util.Pair;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+
+// Spring beans implementing this interface are registered automatically and used instead of the remote data model translator
+// whenever a bridge needs a translation between the same two data models
+public interface LocalDataModelTranslator {
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public String getFromModelId();
+
+	//-------------------------------------------------------------------------------------------------
+	public String getToModelId();
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the translated payload and its content type, runtime exceptions are reported as failed translations
+	public Pair<Payload, String> translate(final Payload input, final Map<String, Object> configurationSettings);
+}
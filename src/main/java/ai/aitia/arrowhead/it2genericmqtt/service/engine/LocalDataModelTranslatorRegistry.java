@@ -0,0 +1,117 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import eu.arrowhead.common.Utilities;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class LocalDataModelTranslatorRegistry {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_LOCAL_MAPPINGS_FILE_WD)
+	private String mappingsFile;
+
+	@Autowired(required = false)
+	private List<LocalDataModelTranslator> translatorBeans = List.of();
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	private final Map<ModelPair, LocalDataModelTranslator> translators = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public void register(final LocalDataModelTranslator translator) {
+		logger.debug("LocalDataModelTranslatorRegistry.register started...");
+		Assert.notNull(translator, "translator is null");
+		Assert.isTrue(!Utilities.isEmpty(translator.getFromModelId()), "fromModelId is missing");
+		Assert.isTrue(!Utilities.isEmpty(translator.getToModelId()), "toModelId is missing");
+
+		final ModelPair key = new ModelPair(translator.getFromModelId(), translator.getToModelId());
+		final LocalDataModelTranslator previous = translators.putIfAbsent(key, translator);
+		Assert.isNull(previous, "A local data model translator is already registered for " + key.fromModelId() + " -> " + key.toModelId());
+
+		logger.info("Local data model translator registered for {} -> {}", key.fromModelId(), key.toModelId());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// null if the translation has to be done remotely
+	public LocalDataModelTranslator find(final String fromModelId, final String toModelId) {
+		logger.debug("LocalDataModelTranslatorRegistry.find started...");
+
+		if (Utilities.isEmpty(fromModelId) || Utilities.isEmpty(toModelId)) {
+			return null;
+		}
+
+		return translators.get(new ModelPair(fromModelId, toModelId));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() throws IOException {
+		logger.debug("LocalDataModelTranslatorRegistry.init started...");
+
+		translatorBeans.forEach(this::register);
+
+		if (!Utilities.isEmpty(mappingsFile)) {
+			final List<MappingDefinition> definitions = mapper.readValue(Files.readAllBytes(Path.of(mappingsFile)), new TypeReference<List<MappingDefinition>>() {
+			});
+			for (final MappingDefinition definition : definitions) {
+				register(new JsonPointerDataModelTranslator(definition.fromModelId(), definition.toModelId(), definition.mappings(), mapper));
+			}
+		}
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record ModelPair(String fromModelId, String toModelId) {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// one entry of the mappings file
+	private record MappingDefinition(String fromModelId, String toModelId, Map<String, Object> mappings) {
+	}
+}
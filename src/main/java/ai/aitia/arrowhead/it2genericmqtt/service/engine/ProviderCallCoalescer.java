@@ -0,0 +1,112 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderBrokerEndpoint;
+import eu.arrowhead.dto.MqttResponseTemplate;
+
+@Component
+public class ProviderCallCoalescer implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String METRICS_NAME = "providerCallCoalescer";
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	private final Map<CoalescingKey, CompletableFuture<MqttResponseTemplate>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder leaders = new LongAdder();
+	private final LongAdder followers = new LongAdder();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the first caller of a key performs the call, everybody else arriving before the response shares its outcome
+	public CompletableFuture<MqttResponseTemplate> coalesce(final CoalescingKey key, final Supplier<CompletableFuture<MqttResponseTemplate>> call) {
+		logger.debug("ProviderCallCoalescer.coalesce started...");
+
+		final CompletableFuture<MqttResponseTemplate> shared = new CompletableFuture<>();
+		final CompletableFuture<MqttResponseTemplate> existing = inFlight.putIfAbsent(key, shared);
+		if (existing != null) {
+			followers.increment();
+			return existing;
+		}
+
+		leaders.increment();
+		try {
+			call.get().whenComplete((response, ex) -> {
+				inFlight.remove(key, shared);
+				if (ex == null) {
+					shared.complete(response);
+				} else {
+					shared.completeExceptionally(ex);
+				}
+			});
+		} catch (final RuntimeException ex) {
+			inFlight.remove(key, shared);
+			shared.completeExceptionally(ex);
+			throw ex;
+		}
+
+		return shared;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put("inFlight", inFlight.size());
+		result.put("leaders", leaders.sum());
+		result.put("followers", followers.sum());
+
+		return result;
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	// the payload is compared by content, so a hash collision can never mix up two different requests
+	public record CoalescingKey(
+			ProviderBrokerEndpoint broker,
+			String topic,
+			String authorizationToken,
+			String contentType,
+			Payload payload) {
+	}
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.ExternalServerError;
+import eu.arrowhead.dto.MqttResponseTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class ProviderCorrelationRegistry implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	public static final String TIMEOUT_MSG = "Provider did not respond in time";
+	private static final String OVERLOAD_MSG = "Too many provider calls are waiting for response";
+	private static final String METRICS_NAME = "providerCorrelationRegistry";
+	private static final long FINISHED_RETENTION = TimeUnit.MINUTES.toMillis(1); // responses arriving later than this are counted as orphaned
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_CORRELATION_MAX_PENDING_WD)
+	private int maxPending;
+
+	@Autowired
+	private CoarseClock clock;
+
+	private final Map<String, PendingCall> pending = new ConcurrentHashMap<>();
+
+	// recently finished calls, only used to classify the responses nobody is waiting for
+	private final Map<String, FinishedCall> finished = new ConcurrentHashMap<>();
+
+	// one shared timer for every pending provider call
+	private ScheduledThreadPoolExecutor timer;
+
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder lateResponses = new LongAdder();
+	private final LongAdder duplicateResponses = new LongAdder();
+	private final LongAdder orphanedResponses = new LongAdder();
+	private final LongAdder reapedCalls = new LongAdder();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public CompletableFuture<MqttResponseTemplate> register(final String traceId, final long timeout) {
+		logger.debug("ProviderCorrelationRegistry.register started...");
+		Assert.isTrue(!Utilities.isEmpty(traceId), "traceId is missing");
+
+		final CompletableFuture<MqttResponseTemplate> future = new CompletableFuture<>();
+
+		// the bound is approximate under concurrent registration, it only has to keep the table from growing without limit
+		if (pending.size() >= maxPending) {
+			rejected.increment();
+			future.completeExceptionally(new ExternalServerError(OVERLOAD_MSG));
+			return future;
+		}
+
+		final PendingCall call = new PendingCall(future, clock.millis() + timeout);
+		pending.put(traceId, call);
+
+		ScheduledFuture<?> timeoutTask = null;
+		try {
+			timeoutTask = timer.schedule(() -> expire(traceId, call), timeout, TimeUnit.MILLISECONDS);
+		} catch (final RejectedExecutionException ex) {
+			// the reaper takes care of the deadline
+			logger.debug("Timeout of call {} is not scheduled: {}", traceId, ex.getMessage());
+		}
+
+		final ScheduledFuture<?> task = timeoutTask;
+		future.whenComplete((r, ex) -> {
+			// cancelled or aborted calls leave the table here, the others have already been claimed
+			if (pending.remove(traceId, call)) {
+				recordFinished(traceId, false);
+			}
+
+			if (task != null) {
+				task.cancel(false);
+			}
+		});
+
+		return future;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns false if nobody is waiting for the response (unknown, late or duplicate)
+	public boolean complete(final MqttResponseTemplate response) {
+		logger.debug("ProviderCorrelationRegistry.complete started...");
+		Assert.notNull(response, "response is null");
+
+		if (response.traceId() == null) {
+			orphanedResponses.increment();
+			return false;
+		}
+
+		// removing the entry is the claim, so exactly one response can complete a call
+		final PendingCall call = pending.remove(response.traceId());
+		if (call == null) {
+			classifyUnexpected(response.traceId());
+			return false;
+		}
+
+		recordFinished(response.traceId(), true);
+
+		return call.future().complete(response);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// safety net for calls whose timeout task never ran (e.g. the timer thread died or the task was rejected)
+	@Scheduled(fixedDelayString = InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_CORRELATION_REAPER_INTERVAL_WD,
+			initialDelayString = InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_CORRELATION_REAPER_INTERVAL_WD)
+	public void reap() {
+		logger.debug("ProviderCorrelationRegistry.reap started...");
+
+		final long now = clock.millis();
+		for (final Entry<String, PendingCall> entry : pending.entrySet()) {
+			if (entry.getValue().deadline() < now && expire(entry.getKey(), entry.getValue())) {
+				reapedCalls.increment();
+			}
+		}
+
+		final Iterator<FinishedCall> it = finished.values().iterator();
+		while (it.hasNext()) {
+			if (it.next().finishedAt() + FINISHED_RETENTION < now) {
+				it.remove();
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put("pending", pending.size());
+		result.put("rejected", rejected.sum());
+		result.put("lateResponses", lateResponses.sum());
+		result.put("duplicateResponses", duplicateResponses.sum());
+		result.put("orphanedResponses", orphanedResponses.sum());
+		result.put("reapedCalls", reapedCalls.sum());
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("ProviderCorrelationRegistry.init started...");
+
+		timer = new ScheduledThreadPoolExecutor(1, r -> {
+			final Thread thread = new Thread(r, "provider-correlation-timer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		timer.setRemoveOnCancelPolicy(true); // most calls are answered, their timeout tasks should not pile up in the queue
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("ProviderCorrelationRegistry.destroy started...");
+
+		timer.shutdownNow();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private boolean expire(final String traceId, final PendingCall call) {
+		logger.debug("expire started...");
+
+		if (!pending.remove(traceId, call)) {
+			// already answered
+			return false;
+		}
+
+		recordFinished(traceId, false);
+
+		return call.future().completeExceptionally(new ExternalServerError(TIMEOUT_MSG));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void recordFinished(final String traceId, final boolean answered) {
+		logger.debug("recordFinished started...");
+
+		if (finished.size() < maxPending) {
+			finished.put(traceId, new FinishedCall(answered, clock.millis()));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void classifyUnexpected(final String traceId) {
+		logger.debug("classifyUnexpected started...");
+
+		final FinishedCall call = finished.get(traceId);
+		if (call == null) {
+			orphanedResponses.increment();
+			logger.debug("Response with unknown trace id: {}", traceId);
+		} else if (call.answered()) {
+			duplicateResponses.increment();
+			logger.debug("Duplicate response for trace id: {}", traceId);
+		} else {
+			lateResponses.increment();
+			logger.debug("Late response for trace id: {}", traceId);
+		}
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record PendingCall(
+			CompletableFuture<MqttResponseTemplate> future,
+			long deadline) {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private record FinishedCall(
+			boolean answered, // false if the call timed out or was aborted
+			long finishedAt) {
+	}
+}
@@ -17,11 +17,11 @@ package ai.aitia.arrowhead.it2genericmqtt.service.engine;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidParameterException;
-import java.util.Base64;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
@@ -29,7 +29,6 @@ import org.apache.logging.log4j.Logger;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.util.Pair;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -37,18 +36,19 @@ import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import ai.aitia.arrowhead.Constants;
 import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
-import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.GeneralMqttClient;
-import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeStore;
+import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.ProviderMqttClientPool;
+import ai.aitia.arrowhead.it2genericmqtt.api.mqtt.utils.ProviderResponseDispatcher;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.ProviderCallCoalescer.CoalescingKey;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.ProviderTargetMonitor.Target;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderCallPlan;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.exception.ExternalServerError;
 import eu.arrowhead.common.exception.InternalServerError;
-import eu.arrowhead.common.mqtt.MqttQoS;
-import eu.arrowhead.common.mqtt.model.MqttInterfaceModel;
 import eu.arrowhead.dto.MqttRequestTemplate;
 import eu.arrowhead.dto.MqttResponseTemplate;
-import jakarta.annotation.Resource;
 
 @Service
 public class ProviderDriver {
@@ -56,128 +56,141 @@ public class ProviderDriver {
 	//=================================================================================================
 	// members
 
+	private static final String ABORT_MSG = "Translation bridge is aborted";
+	private static final String CIRCUIT_OPEN_MSG = "Provider is unavailable, it did not respond to the recent calls in time";
+
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
 	@Autowired
 	private ObjectMapper mapper;
 
 	@Autowired
-	private GeneralMqttClient client;
+	private ProviderMqttClientPool clientPool;
 
-	@Resource(name = InterfaceTranslatorToGenericMQTTConstants.PROVIDER_RESPONSE_MAP)
-	private Map<String, Optional<MqttResponseTemplate>> providerResponseMap;
+	@Autowired
+	private ProviderCorrelationRegistry correlationRegistry;
 
 	@Autowired
-	private BridgeStore bridgeStore;
+	private ProviderResponseDispatcher responseDispatcher;
 
-	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_SERVICE_GET_RESULT_TRIES_WD)
-	private int defaultGetResultRetries;
+	@Autowired
+	private ProviderCallCoalescer coalescer;
 
-	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_SERVICE_GET_RESULT_WAIT_WD)
-	private long defaultGetResultWait;
+	@Autowired
+	private ProviderTargetMonitor targetMonitor;
 
 	//=================================================================================================
 	// methods
 
 	//-------------------------------------------------------------------------------------------------
-	public Triple<Integer, Optional<byte[]>, Optional<Boolean>> callOperation(
-			final UUID bridgeId,
-			final String operation,
-			final String targetInterface,
-			final Map<String, Object> targetInterfaceProperties,
-			final byte[] payload,
+	// the returned future is completed by the response, the timeout or the abort of the bridge; no thread is blocked meanwhile
+	public CompletableFuture<Triple<Integer, Optional<Payload>, Optional<Boolean>>> callOperationAsync(
+			final BridgeCancellation cancellation,
+			final ProviderCallPlan plan,
+			final Payload payload,
 			final String contentType,
-			final String authorizationToken,
-			final Map<String, Object> settings) {
-		logger.debug("callOperation started...");
-		Assert.isTrue(!Utilities.isEmpty(operation), "operation is missing");
-		Assert.isTrue(!Utilities.isEmpty(targetInterfaceProperties), "Interface properties is missing");
+			final String authorizationToken) {
+		logger.debug("callOperationAsync started...");
+		Assert.notNull(cancellation, "cancellation is null");
+		Assert.notNull(plan, "plan is null");
+
+		final CompletableFuture<MqttResponseTemplate> call = plan.coalesce()
+				? coalescer.coalesce(new CoalescingKey(plan.broker(), plan.topic(), authorizationToken, contentType, payload),
+						() -> sendRequest(plan, payload, contentType, authorizationToken))
+				: sendRequest(plan, payload, contentType, authorizationToken);
+
+		// every caller waits on its own future, so the abort of one bridge does not affect the others sharing the same call
+		final CompletableFuture<MqttResponseTemplate> future = new CompletableFuture<>();
+		call.whenComplete((response, ex) -> {
+			if (ex == null) {
+				future.complete(response);
+			} else {
+				future.completeExceptionally(ex);
+			}
+		});
 
-		final String traceId = UUID.randomUUID().toString();
-		providerResponseMap.put(traceId, Optional.empty());
+		final Runnable deregistration = cancellation.onCancel(() -> {
+			future.completeExceptionally(new ExternalServerError(ABORT_MSG));
+			if (!plan.coalesce()) {
+				// nobody else is waiting for this call
+				call.cancel(false);
+			}
+		});
+		future.whenComplete((r, ex) -> deregistration.run());
+
+		return future.thenApply(responseTemplate -> {
+			try {
+				Pair<Optional<Payload>, Optional<Boolean>> extracted = null;
+				if (responseTemplate.payload() != null) {
+					extracted = extractPayload(responseTemplate);
+				}
 
-		final String baseTopic = targetInterfaceProperties.get(MqttInterfaceModel.PROP_NAME_BASE_TOPIC).toString();
-		if (Utilities.isEmpty(baseTopic)) {
-			throw new InvalidParameterException("Essential information about the target operation is missing");
+				return Triple.of(
+						responseTemplate.status(),
+						extracted == null ? Optional.empty() : extracted.getFirst(),
+						extracted == null ? Optional.empty() : extracted.getSecond());
+			} catch (final IOException ex) {
+				throw new InternalServerError(ex.getMessage(), ex);
+			}
+		});
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<MqttResponseTemplate> sendRequest(final ProviderCallPlan plan, final Payload payload, final String contentType, final String authorizationToken) {
+		logger.debug("ProviderDriver.sendRequest started...");
+
+		// a provider that keeps timing out is not waited for again until a probe call succeeds
+		final Target target = targetMonitor.getTarget(plan);
+		if (!target.tryAcquire()) {
+			return CompletableFuture.failedFuture(new ExternalServerError(CIRCUIT_OPEN_MSG));
 		}
 
+		final String traceId = UUID.randomUUID().toString();
+		final long start = System.nanoTime();
+		final CompletableFuture<MqttResponseTemplate> future = correlationRegistry.register(traceId, target.calculateDeadline(plan.timeout()));
+		future.whenComplete((response, ex) -> {
+			if (ex == null) {
+				target.onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			} else if (ex instanceof ExternalServerError && ProviderCorrelationRegistry.TIMEOUT_MSG.equals(ex.getMessage())) {
+				target.onTimeout();
+			} else {
+				target.onNeutral();
+			}
+		});
+
 		try {
-			// sending request
 			final MqttRequestTemplate template = new MqttRequestTemplate(
 					traceId,
 					authorizationToken,
-					InterfaceTranslatorToGenericMQTTConstants.MQTT_RESPONSE_TOPIC,
-					MqttQoS.EXACTLY_ONCE.value(),
+					responseDispatcher.selectResponseTopic(),
+					plan.responseQos(),
 					Map.of(),
 					convertPayloadForTemplate(payload, contentType));
 			final MqttMessage msg = new MqttMessage(mapper.writeValueAsBytes(template));
-			client.publish(baseTopic + operation, msg);
+			msg.setQos(plan.requestQos());
+			clientPool.publish(plan.broker(), plan.topic(), msg, future)
+					.whenComplete((r, ex) -> {
+						if (ex != null) {
+							// the request never reached the broker, there is no point in waiting for the response
+							future.completeExceptionally(new ExternalServerError(ex.getMessage(), ex));
+						}
+					});
 		} catch (final MqttException ex) {
+			future.cancel(false);
 			throw new ExternalServerError(ex.getMessage(), ex);
 		} catch (final IOException ex) {
+			future.cancel(false);
 			throw new InternalServerError(ex.getMessage(), ex);
 		}
 
-		// waiting for answer
-		final int tries = getSettingValue(settings, Integer.class, Constants.SETTING_KEY_PROVIDER_SERVICE_GET_RESULT_TRIES, defaultGetResultRetries);
-		final long wait = getSettingValue(settings, Long.class, Constants.SETTING_KEY_PROVIDER_SERVICE_GET_RESULT_WAIT, defaultGetResultWait);
-
-		for (int i = 0; i < tries; ++i) {
-			if (!bridgeStore.containsBridgeId(bridgeId)) {
-				// abort happened during service calling
-				providerResponseMap.remove(traceId);
-				throw new ExternalServerError("Translation bridge is aborted");
-			}
-
-			final boolean hasResult = providerResponseMap.containsKey(traceId) && providerResponseMap.get(traceId).isPresent();
-			if (hasResult) {
-				// get the result
-				final MqttResponseTemplate responseTemplate = providerResponseMap.get(traceId).get();
-				providerResponseMap.remove(traceId);
-
-				try {
-					Pair<Optional<byte[]>, Optional<Boolean>> extracted = null;
-					if (responseTemplate.payload() != null) {
-						extracted = extractPayload(responseTemplate);
-					}
-					
-					return Triple.of(
-							responseTemplate.status(),
-							extracted == null ? Optional.empty() : extracted.getFirst(),
-							extracted == null ? Optional.empty() : extracted.getSecond());
-				} catch (final IOException ex) {
-					throw new InternalServerError(ex.getMessage(), ex);
-				}
-			} else {
-				// wait
-				try {
-					Thread.sleep(wait);
-				} catch (final InterruptedException __) {
-					// nothing to do
-				}
-			}
-		}
-
-		// not waiting anymore
-		providerResponseMap.remove(traceId);
-		throw new ExternalServerError("Provider did not respond in time");
-	}
-
-	//=================================================================================================
-	// assistant methods
-
-	//-------------------------------------------------------------------------------------------------
-	@SuppressWarnings("unchecked")
-	private <T> T getSettingValue(final Map<String, Object> settings, final Class<T> type, final String key, final T defaultValue) {
-		logger.debug("ProviderDriver.getSettingValue started...");
-
-		final Object value = settings.get(key);
-
-		return (type.isInstance(value) ? (T) value : defaultValue);
+		return future;
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	private Object convertPayloadForTemplate(byte[] payload, final String contentType) throws IOException {
+	private Object convertPayloadForTemplate(final Payload payload, final String contentType) throws IOException {
 		logger.debug("ProviderDriver.convertPayloadForTemplate started...");
 
 		if (payload == null) {
@@ -187,17 +200,17 @@ public class ProviderDriver {
 		switch (contentType) {
 		case MediaType.TEXT_PLAIN_VALUE:
 		case MediaType.APPLICATION_XML_VALUE:
-			return new String(payload, StandardCharsets.UTF_8);
+			return payload.asString(StandardCharsets.UTF_8);
 		case MediaType.APPLICATION_JSON_VALUE:
-			return mapper.readValue(payload, Object.class);
+			return mapper.readValue(payload.asInputStream(), Object.class);
 		default:
 			// in case of any other content we use Base64 enconding
-			return new String(Base64.getEncoder().encode(payload), StandardCharsets.UTF_8);
+			return payload.toBase64();
 		}
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	private Pair<Optional<byte[]>, Optional<Boolean>> extractPayload(final MqttResponseTemplate response) throws IOException { // payload in bytes, is payload a JSON
+	private Pair<Optional<Payload>, Optional<Boolean>> extractPayload(final MqttResponseTemplate response) throws IOException { // payload in bytes, is payload a JSON
 		logger.debug("ProviderDriver.extractPayload started...");
 
 		if (response.payload() == null) {
@@ -207,16 +220,16 @@ public class ProviderDriver {
 		}
 
 		boolean isJson = false;
-		byte[] payloadBytes = null;
+		Payload payloadBytes = null;
 		if (response.payload() instanceof final String strPayload) {
 			if (Utilities.isEmpty(strPayload)) {
 				return null;
 			}
 
-			payloadBytes = strPayload.getBytes();
+			payloadBytes = Payload.of(strPayload);
 		} else {
 			isJson = true;
-			payloadBytes = mapper.writeValueAsBytes(response.payload());
+			payloadBytes = Payload.wrap(mapper.writeValueAsBytes(response.payload()));
 		}
 
 		return Pair.of(
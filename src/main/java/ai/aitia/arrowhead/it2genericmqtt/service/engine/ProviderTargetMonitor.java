@@ -0,0 +1,264 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderBrokerEndpoint;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.ProviderCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+
+@Component
+public class ProviderTargetMonitor implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String METRICS_NAME = "providerTargets";
+	private static final int LATENCY_WINDOW = 256; // latency of the last calls, percentiles are calculated from these
+	private static final int MIN_SAMPLES = 32; // the configured budget is used until enough latencies are known
+	private static final int RECALCULATION_PERIOD = 16; // percentiles are recalculated after every that many new samples
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_ADAPTIVE_TIMEOUT_FACTOR_WD)
+	private double adaptiveTimeoutFactor;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_ADAPTIVE_TIMEOUT_MIN_WD)
+	private long adaptiveTimeoutMin;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_CIRCUIT_FAILURE_THRESHOLD_WD)
+	private int failureThreshold;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$PROVIDER_CIRCUIT_OPEN_DURATION_WD)
+	private long openDuration;
+
+	@Autowired
+	private CoarseClock clock;
+
+	private final Map<TargetKey, Target> targets = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public Target getTarget(final ProviderCallPlan plan) {
+		logger.debug("getTarget started...");
+		Assert.notNull(plan, "plan is null");
+
+		return targets.computeIfAbsent(new TargetKey(plan.broker(), plan.baseTopic()), k -> new Target());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> result = new TreeMap<>();
+		targets.forEach((key, target) -> result.put(key.toDisplayString(), target.getMetrics()));
+
+		return result;
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	public enum CircuitState {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private record TargetKey(
+			ProviderBrokerEndpoint broker, // null if the target is reached through our own broker
+			String baseTopic) {
+
+		//-------------------------------------------------------------------------------------------------
+		public String toDisplayString() {
+			return broker == null ? baseTopic : broker.address() + ":" + broker.port() + " " + baseTopic;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public final class Target {
+
+		//=================================================================================================
+		// members
+
+		private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_WINDOW);
+		private final AtomicLong samples = new AtomicLong();
+		private final AtomicInteger consecutiveTimeouts = new AtomicInteger();
+		private final LongAdder rejected = new LongAdder();
+		private final LongAdder timeouts = new LongAdder();
+
+		private volatile long p50 = -1;
+		private volatile long p90 = -1;
+		private volatile long p99 = -1;
+
+		// transitions of the breaker are rare, they are serialized on the target, the check of a closed breaker is not
+		private volatile CircuitState state = CircuitState.CLOSED;
+		private long openedAt;
+		private boolean probeInFlight;
+		private long openings;
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		// returns false if the call has to fail fast
+		public boolean tryAcquire() {
+			if (state == CircuitState.CLOSED) {
+				return true;
+			}
+
+			synchronized (this) {
+				if (state == CircuitState.OPEN && clock.millis() - openedAt >= openDuration) {
+					state = CircuitState.HALF_OPEN;
+					probeInFlight = false;
+				}
+
+				// only one probe call is let through while the breaker is half open
+				if (state == CircuitState.HALF_OPEN && !probeInFlight) {
+					probeInFlight = true;
+					return true;
+				}
+
+				if (state == CircuitState.CLOSED) {
+					return true;
+				}
+			}
+
+			rejected.increment();
+
+			return false;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// the observed latencies can shorten the configured budget, but never extend it
+		public long calculateDeadline(final long budget) {
+			final long percentile = p99;
+			if (percentile < 0) {
+				return budget;
+			}
+
+			final long adaptive = Math.max(adaptiveTimeoutMin, (long) Math.ceil(percentile * adaptiveTimeoutFactor));
+
+			return Math.min(budget, adaptive);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void onSuccess(final long latency) {
+			final long count = samples.getAndIncrement();
+			latencies.set((int) (count % LATENCY_WINDOW), latency);
+			if (count + 1 >= MIN_SAMPLES && (count + 1) % RECALCULATION_PERIOD == 0) {
+				recalculatePercentiles(count + 1);
+			}
+
+			consecutiveTimeouts.set(0);
+			if (state != CircuitState.CLOSED) {
+				synchronized (this) {
+					state = CircuitState.CLOSED;
+					probeInFlight = false;
+				}
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void onTimeout() {
+			timeouts.increment();
+			final int failures = consecutiveTimeouts.incrementAndGet();
+			if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && failures >= failureThreshold)) {
+				synchronized (this) {
+					if (state != CircuitState.OPEN) {
+						state = CircuitState.OPEN;
+						openedAt = clock.millis();
+						probeInFlight = false;
+						openings++;
+					}
+				}
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// the call ended without telling anything about the provider (e.g. it was aborted)
+		public void onNeutral() {
+			if (state == CircuitState.HALF_OPEN) {
+				synchronized (this) {
+					probeInFlight = false;
+				}
+			}
+		}
+
+		//=================================================================================================
+		// assistant methods
+
+		//-------------------------------------------------------------------------------------------------
+		private void recalculatePercentiles(final long count) {
+			final int size = (int) Math.min(count, LATENCY_WINDOW);
+			final long[] snapshot = new long[size];
+			for (int i = 0; i < size; ++i) {
+				snapshot[i] = latencies.get(i);
+			}
+
+			Arrays.sort(snapshot);
+			p50 = snapshot[percentileIndex(size, 50)];
+			p90 = snapshot[percentileIndex(size, 90)];
+			p99 = snapshot[percentileIndex(size, 99)];
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private int percentileIndex(final int size, final int percentile) {
+			return Math.min(size - 1, (int) Math.ceil(size * percentile / 100.0) - 1);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private synchronized Map<String, Object> getMetrics() {
+			final Map<String, Object> result = new LinkedHashMap<>();
+			result.put("state", state.name());
+			result.put("samples", samples.get());
+			result.put("p50", p50);
+			result.put("p90", p90);
+			result.put("p99", p99);
+			result.put("consecutiveTimeouts", consecutiveTimeouts.get());
+			result.put("timeouts", timeouts.sum());
+			result.put("rejected", rejected.sum());
+			result.put("openings", openings);
+
+			return result;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponents;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorOperationPlan;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.ExternalServerError;
+import eu.arrowhead.dto.DataModelTranslationInitRequestDTO;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+import reactor.core.publisher.Mono;
+
+// same operations as DataModelTranslatorDriver, but no thread waits for the responses
+@Service
+public class ReactiveDataModelTranslatorDriver {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Autowired
+	private TranslatorHttpClient httpClient;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public Mono<String> initTranslation(final TranslatorCallPlan plan, final TranslatorEndpoints endpoints, final Payload input, final String callbackUrl) {
+		logger.debug("ReactiveDataModelTranslatorDriver.initTranslation started...");
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(endpoints, "endpoints is null");
+		Assert.isTrue(input != null && !input.isEmpty(), "input is missing");
+
+		final TranslatorOperationPlan operation = endpoints.initTranslation();
+		final DataModelTranslationInitRequestDTO translationPayload = DataModelTranslatorDriver.createTranslationPayload(plan.translator(), input, callbackUrl);
+
+		return exchange(operation.uri(), operation)
+				.bodyValue(translationPayload)
+				.retrieve()
+				.onStatus(status -> !status.is2xxSuccessful(), response -> createError(operation.uri(), response))
+				.bodyToMono(String.class)
+				.switchIfEmpty(Mono.error(() -> new ExternalServerError("Data model translator did not return a task identifier")))
+				.onErrorMap(WebClientRequestException.class, ex -> toExternalServerError(ex));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public Mono<DataModelTranslationResultResponseDTO> getTranslationResult(final String taskId, final TranslatorEndpoints endpoints) {
+		logger.debug("ReactiveDataModelTranslatorDriver.getTranslationResult started...");
+		Assert.isTrue(!Utilities.isEmpty(taskId), "Task identifier is missing");
+		Assert.notNull(endpoints, "endpoints is null");
+
+		final TranslatorOperationPlan operation = endpoints.getTranslationResult();
+		final UriComponents uri = operation.taskUri(taskId);
+
+		return exchange(uri, operation)
+				.retrieve()
+				.onStatus(status -> !status.is2xxSuccessful(), response -> createError(uri, response))
+				.bodyToMono(DataModelTranslationResultResponseDTO.class)
+				.switchIfEmpty(Mono.error(() -> new ExternalServerError("Data model translator did not return the task status")))
+				.onErrorMap(WebClientRequestException.class, ex -> toExternalServerError(ex));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// errors are only logged, an abort is never waited for
+	public Mono<Void> abortTranslation(final String taskId, final TranslatorEndpoints endpoints) {
+		logger.debug("ReactiveDataModelTranslatorDriver.abortTranslation started...");
+		Assert.isTrue(!Utilities.isEmpty(taskId), "Task identifier is missing");
+		Assert.notNull(endpoints, "endpoints is null");
+
+		final TranslatorOperationPlan operation = endpoints.abortTranslation();
+		final UriComponents uri = operation.taskUri(taskId);
+
+		return exchange(uri, operation)
+				.retrieve()
+				.onStatus(status -> !status.is2xxSuccessful(), response -> createError(uri, response))
+				.toBodilessEntity()
+				.then()
+				.onErrorResume(ex -> {
+					logger.error("Error during data model translation abort: {}", ex.getMessage());
+					logger.debug(ex);
+					return Mono.empty();
+				});
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private WebClient.RequestBodySpec exchange(final UriComponents uri, final TranslatorOperationPlan operation) {
+		return httpClient.getWebClient()
+				.method(operation.method())
+				.uri(uri.toUri());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Mono<ExternalServerError> createError(final UriComponents uri, final ClientResponse response) {
+		return response.bodyToMono(byte[].class)
+				.defaultIfEmpty(new byte[0])
+				.map(body -> httpClient.createResponseError(uri, response.statusCode().value(), body));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private ExternalServerError toExternalServerError(final WebClientRequestException ex) {
+		// connection level problems (refused connection, timeout, saturated pool)
+		return new ExternalServerError("Data model translator is not available: " + ex.getMessage(), ex);
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.Constants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import eu.arrowhead.common.http.HttpUtilities;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+
+@Component
+public class TranslationCallbackRegistry {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Autowired
+	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+
+	private final Map<UUID, CompletableFuture<DataModelTranslationResultResponseDTO>> pending = new ConcurrentHashMap<>();
+
+	private volatile String callbackBaseUrl;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the callback has to be registered before the translation is initiated, because the result can arrive before the task id
+	public TranslationCallback register() {
+		logger.debug("TranslationCallbackRegistry.register started...");
+
+		// the random identifier is the only credential of the callback, it is not guessable and it is used only once
+		final UUID id = UUID.randomUUID();
+		final CompletableFuture<DataModelTranslationResultResponseDTO> future = new CompletableFuture<>();
+		pending.put(id, future);
+		future.whenComplete((r, ex) -> pending.remove(id, future));
+
+		return new TranslationCallback(id, getCallbackBaseUrl() + "/" + id.toString(), future);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns false if nobody is waiting for the result (unknown, finished or abandoned translation)
+	public boolean complete(final UUID id, final DataModelTranslationResultResponseDTO result) {
+		logger.debug("TranslationCallbackRegistry.complete started...");
+		Assert.notNull(id, "id is null");
+		Assert.notNull(result, "result is null");
+
+		final CompletableFuture<DataModelTranslationResultResponseDTO> future = pending.get(id);
+		if (future == null) {
+			return false;
+		}
+
+		if (result.status() == null) {
+			return true;
+		}
+
+		return switch (result.status()) {
+		case DONE, ERROR -> future.complete(result);
+		default -> true; // intermediate states are not interesting
+		};
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private String getCallbackBaseUrl() {
+		if (callbackBaseUrl == null) {
+			callbackBaseUrl = HttpUtilities.createURI(
+					sysInfo.isSslEnabled() ? Constants.HTTPS : Constants.HTTP,
+					sysInfo.getDomainAddress(),
+					sysInfo.getServerPort(),
+					InterfaceTranslatorToGenericMQTTConstants.HTTP_API_TRANSLATION_CALLBACK_PATH)
+					.toUriString();
+		}
+
+		return callbackBaseUrl;
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	public record TranslationCallback(
+			UUID id,
+			String url,
+			CompletableFuture<DataModelTranslationResultResponseDTO> future) { // cancel it when the result is no longer needed
+
+		//-------------------------------------------------------------------------------------------------
+		public void release() {
+			future.cancel(false);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+
+// decides when a slow data model translation is worth duplicating on another address of the same translator
+@Component
+public class TranslationHedgingPolicy implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String METRICS_NAME = "translationHedging";
+	private static final int LATENCY_WINDOW = 256; // latency of the last translations, the hedge delay is calculated from these
+	private static final int MIN_SAMPLES = 32; // no hedging until enough latencies are known
+	private static final int RECALCULATION_PERIOD = 16; // the hedge delay is recalculated after every that many new samples
+	private static final double MAX_TOKENS = 10; // how many hedges can be done in a burst
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_HEDGE_PERCENTILE_WD)
+	private int percentile;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_HEDGE_BUDGET_WD)
+	private int budget; // in percent
+
+	private final Map<String, Translator> translators = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public Translator getTranslator(final TranslatorCallPlan plan) {
+		logger.debug("getTranslator started...");
+		Assert.notNull(plan, "plan is null");
+
+		return translators.computeIfAbsent(plan.translatorName(), k -> new Translator());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> result = new TreeMap<>();
+		translators.forEach((name, translator) -> result.put(name, translator.getMetrics()));
+
+		return result;
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	public final class Translator {
+
+		//=================================================================================================
+		// members
+
+		private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_WINDOW);
+		private final AtomicLong samples = new AtomicLong();
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder hedges = new LongAdder();
+		private final LongAdder hedgeWins = new LongAdder();
+		private final LongAdder budgetRejections = new LongAdder();
+
+		private volatile long hedgeDelay = -1;
+		private double tokens = MAX_TOKENS; // guarded by this
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		// returns -1 if the translation should not be hedged
+		public long onRequest() {
+			requests.increment();
+			synchronized (this) {
+				// every translation earns a fraction of a hedge, so at most budget percent of them are hedged in the long run
+				tokens = Math.min(MAX_TOKENS, tokens + budget / 100.0);
+			}
+
+			return hedgeDelay;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// returns false if the budget is exhausted
+		public boolean tryAcquireHedge() {
+			synchronized (this) {
+				if (tokens >= 1) {
+					tokens -= 1;
+					hedges.increment();
+					return true;
+				}
+			}
+
+			budgetRejections.increment();
+
+			return false;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void onHedgeWin() {
+			hedgeWins.increment();
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void onSuccess(final long latency) {
+			final long count = samples.getAndIncrement();
+			latencies.set((int) (count % LATENCY_WINDOW), latency);
+			if (count + 1 >= MIN_SAMPLES && (count + 1) % RECALCULATION_PERIOD == 0) {
+				recalculateHedgeDelay(count + 1);
+			}
+		}
+
+		//=================================================================================================
+		// assistant methods
+
+		//-------------------------------------------------------------------------------------------------
+		private void recalculateHedgeDelay(final long count) {
+			final int size = (int) Math.min(count, LATENCY_WINDOW);
+			final long[] snapshot = new long[size];
+			for (int i = 0; i < size; ++i) {
+				snapshot[i] = latencies.get(i);
+			}
+
+			Arrays.sort(snapshot);
+			final int index = Math.max(0, Math.min(size - 1, (int) Math.ceil(size * percentile / 100.0) - 1));
+			hedgeDelay = Math.max(1, snapshot[index]);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private synchronized Map<String, Object> getMetrics() {
+			final Map<String, Object> result = new LinkedHashMap<>();
+			result.put("samples", samples.get());
+			result.put("hedgeDelay", hedgeDelay);
+			result.put("requests", requests.sum());
+			result.put("hedges", hedges.sum());
+			result.put("hedgeWins", hedgeWins.sum());
+			result.put("budgetRejections", budgetRejections.sum());
+
+			return result;
+		}
+	}
+}
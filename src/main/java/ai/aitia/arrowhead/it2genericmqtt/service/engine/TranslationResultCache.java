@@ -0,0 +1,218 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import eu.arrowhead.common.exception.InternalServerError;
+import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class TranslationResultCache implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String METRICS_NAME = "translationResultCache";
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final int ENTRY_OVERHEAD = 192; // estimated size of the key, the digests and the wrapper objects in bytes
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATION_CACHE_MAX_BYTES_WD)
+	private long maxBytes;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATION_CACHE_TTL_WD)
+	private long ttl;
+
+	private Cache<TranslationCacheKey, Pair<Payload, String>> cache;
+
+	private final Map<String, TranslatorStats> translatorStats = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public TranslationCacheKey createKey(final TranslatorCallPlan plan, final Payload input) {
+		logger.debug("TranslationResultCache.createKey started...");
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(input, "input is null");
+
+		final TranslationDataModelTranslationDataDescriptorDTO translator = plan.translator();
+
+		// sorted, so the same settings always give the same digest regardless of the map implementation
+		final String settings = translator.configurationSettings() == null ? "" : new TreeMap<>(translator.configurationSettings()).toString();
+
+		return new TranslationCacheKey(
+				translator.fromModelId(),
+				translator.toModelId(),
+				digest(Payload.of(settings)),
+				digest(input));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the translated data and its content type, or null if it is not cached
+	public Pair<Payload, String> get(final TranslatorCallPlan plan, final TranslationCacheKey key) {
+		logger.debug("TranslationResultCache.get started...");
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(key, "key is null");
+
+		final Pair<Payload, String> result = cache.getIfPresent(key);
+		final TranslatorStats stats = translatorStats.computeIfAbsent(plan.translatorName(), k -> new TranslatorStats());
+		if (result == null) {
+			stats.misses.increment();
+		} else {
+			stats.hits.increment();
+		}
+
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void put(final TranslationCacheKey key, final Pair<Payload, String> result) {
+		logger.debug("TranslationResultCache.put started...");
+		Assert.notNull(key, "key is null");
+		Assert.notNull(result, "result is null");
+
+		cache.put(key, result);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final CacheStats stats = cache.stats();
+
+		final Map<String, Object> translators = new TreeMap<>();
+		translatorStats.forEach((name, s) -> translators.put(name, s.getMetrics()));
+
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put("entries", cache.estimatedSize());
+		result.put("hits", stats.hitCount());
+		result.put("misses", stats.missCount());
+		result.put("hitRate", stats.hitRate());
+		result.put("evictions", stats.evictionCount());
+		result.put("evictedBytes", stats.evictionWeight());
+		result.put("translators", translators);
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("TranslationResultCache.init started...");
+
+		cache = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((final TranslationCacheKey key, final Pair<Payload, String> value) -> weigh(value))
+				.expireAfterWrite(Duration.ofMillis(ttl))
+				.recordStats()
+				.build();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static int weigh(final Pair<Payload, String> value) {
+		final long size = ENTRY_OVERHEAD
+				+ (value.getFirst() == null ? 0 : value.getFirst().size())
+				+ (value.getSecond() == null ? 0 : value.getSecond().length());
+
+		return (int) Math.min(Integer.MAX_VALUE, size);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private ByteBuffer digest(final Payload data) {
+		logger.debug("digest started...");
+
+		try {
+			final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			data.updateDigest(digest);
+
+			return ByteBuffer.wrap(digest.digest()).asReadOnlyBuffer();
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new InternalServerError(ex.getMessage(), ex);
+		}
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	public record TranslationCacheKey(
+			String fromModelId,
+			String toModelId,
+			ByteBuffer configurationSettingsDigest,
+			ByteBuffer inputDigest) {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class TranslatorStats {
+
+		//=================================================================================================
+		// members
+
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		public Map<String, Object> getMetrics() {
+			final long hitCount = hits.sum();
+			final long total = hitCount + misses.sum();
+
+			final Map<String, Object> result = new LinkedHashMap<>();
+			result.put("hits", hitCount);
+			result.put("misses", total - hitCount);
+			result.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+
+			return result;
+		}
+	}
+}
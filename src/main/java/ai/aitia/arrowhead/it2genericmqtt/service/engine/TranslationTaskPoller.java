@@ -0,0 +1,396 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.TranslationCallbackRegistry.TranslationCallback;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.ExternalServerError;
+import eu.arrowhead.common.exception.InternalServerError;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+
+@Component
+public class TranslationTaskPoller implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String ABORT_MSG = "Translation bridge is aborted";
+	private static final String TIMEOUT_MSG = "Data model translator did not respond in time";
+	private static final String METRICS_NAME = "translationTaskPoller";
+	private static final double JITTER = 0.2; // status checks of tasks started together should not stay in sync
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_POLLER_THREADS_WD)
+	private int pollerThreads;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_POLL_INITIAL_DELAY_WD)
+	private long initialDelay;
+
+	// in blocking mode every status check holds a poller thread until the translator answers, so at most pollerThreads
+	// checks are in progress at a time, and a slow translator delays the checks and the deadline timers of the other tasks
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_REACTIVE_ENABLED_WD)
+	private boolean reactiveEnabled;
+
+	@Autowired
+	private DataModelTranslatorDriver dmDriver;
+
+	@Autowired
+	private ReactiveDataModelTranslatorDriver reactiveDmDriver;
+
+	@Autowired
+	private TranslatorLoadBalancer loadBalancer;
+
+	@Autowired
+	private CoarseClock clock;
+
+	private ScheduledThreadPoolExecutor scheduler;
+
+	private final Map<String, TranslatorStats> translatorStats = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the returned future is completed by a status check, the callback of the translator, the deadline or the abort of the bridge
+	public CompletableFuture<Pair<Payload, String>> track(
+			final BridgeCancellation cancellation,
+			final TranslatorCallPlan plan,
+			final TranslatorEndpoints endpoints, // the address that accepted the task, it is used for every later call of the task
+			final String taskId,
+			final TranslationCallback callback, // null if the translator is only polled
+			final long maxDelay) { // in millisec
+		logger.debug("TranslationTaskPoller.track started...");
+		Assert.notNull(cancellation, "cancellation is null");
+		Assert.notNull(plan, "plan is null");
+		Assert.notNull(endpoints, "endpoints is null");
+		Assert.isTrue(!Utilities.isEmpty(taskId), "Task identifier is missing");
+
+		final TranslatorStats stats = translatorStats.computeIfAbsent(endpoints.address(), k -> new TranslatorStats());
+		final Task task = new Task(cancellation, endpoints, taskId, stats, clock.millis() + plan.tries() * plan.waitMillis(), Math.max(initialDelay, maxDelay));
+		stats.inFlight.incrementAndGet();
+
+		final Runnable deregistration = cancellation.onCancel(task::abort);
+
+		// the deadline is enforced by a timer, a stalled status check or a callback that never arrives can't extend it
+		final ScheduledFuture<?> deadlineTimer = task.scheduleDeadline();
+		task.future.whenComplete((r, ex) -> {
+			stats.inFlight.decrementAndGet();
+			deregistration.run();
+			if (deadlineTimer != null) {
+				deadlineTimer.cancel(false);
+			}
+			task.disposePendingCheck();
+			if (callback != null) {
+				callback.release();
+			}
+		});
+
+		if (callback != null) {
+			callback.future().thenAccept(response -> {
+				if (task.handle(response)) {
+					stats.completedByCallback.increment();
+				}
+			});
+		}
+
+		task.schedule(Math.min(initialDelay, task.maxDelay));
+
+		return task.future;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> result = new TreeMap<>();
+		translatorStats.forEach((name, stats) -> result.put(name, stats.getMetrics()));
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("TranslationTaskPoller.init started...");
+
+		final AtomicInteger counter = new AtomicInteger();
+		scheduler = new ScheduledThreadPoolExecutor(pollerThreads, r -> {
+			final Thread thread = new Thread(r, "translation-poller-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("TranslationTaskPoller.destroy started...");
+
+		scheduler.shutdownNow();
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private final class Task {
+
+		//=================================================================================================
+		// members
+
+		private final BridgeCancellation cancellation;
+		private final TranslatorEndpoints endpoints;
+		private final String taskId;
+		private final TranslatorStats stats;
+		private final long deadline;
+		private final long maxDelay;
+		private final CompletableFuture<Pair<Payload, String>> future = new CompletableFuture<>();
+
+		private long delay; // only accessed by the status checks, which never run concurrently
+		private volatile Disposable pendingCheck; // the status request in progress in non-blocking mode
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		public Task(final BridgeCancellation cancellation, final TranslatorEndpoints endpoints, final String taskId, final TranslatorStats stats, final long deadline, final long maxDelay) {
+			this.cancellation = cancellation;
+			this.endpoints = endpoints;
+			this.taskId = taskId;
+			this.stats = stats;
+			this.deadline = deadline;
+			this.maxDelay = maxDelay;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		// returns true if this response finished the task
+		public boolean handle(final DataModelTranslationResultResponseDTO response) {
+			switch (response.status()) {
+			case PENDING:
+			case IN_PROGRESS:
+				return false;
+			case DONE:
+				// the translator DTO is the only place where the payload is Base64 encoded
+				return future.complete(Pair.of(response.result() == null ? Payload.EMPTY : Payload.fromBase64(response.result()), response.mimeType()));
+			case ERROR:
+				return future.completeExceptionally(new ExternalServerError(response.result()));
+			default:
+				return future.completeExceptionally(new IllegalArgumentException("Unknown status: " + response.status().toString()));
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public void abort() {
+			if (future.completeExceptionally(new ExternalServerError(ABORT_MSG))) {
+				stats.aborted.increment();
+				abortRemotely();
+			}
+		}
+
+		//=================================================================================================
+		// assistant methods
+
+		//-------------------------------------------------------------------------------------------------
+		// returns null if the task could not be tracked
+		private ScheduledFuture<?> scheduleDeadline() {
+			try {
+				return scheduler.schedule(this::expire, Math.max(0, deadline - clock.millis()), TimeUnit.MILLISECONDS);
+			} catch (final RejectedExecutionException ex) {
+				future.completeExceptionally(new InternalServerError("Translation task cannot be tracked"));
+				return null;
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void expire() {
+			// it takes too much time
+			if (future.completeExceptionally(new ExternalServerError(TIMEOUT_MSG))) {
+				stats.timedOut.increment();
+				abortRemotely();
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void disposePendingCheck() {
+			final Disposable check = pendingCheck;
+			if (check != null) {
+				check.dispose();
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void schedule(final long nextDelay) {
+			delay = nextDelay;
+
+			// jitter in both directions, so the average frequency is kept
+			final long jittered = Math.max(1, Math.round(nextDelay * (1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER))));
+			try {
+				scheduler.schedule(this::check, jittered, TimeUnit.MILLISECONDS);
+			} catch (final RejectedExecutionException ex) {
+				future.completeExceptionally(new InternalServerError("Translation task cannot be tracked"));
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void check() {
+			if (future.isDone()) {
+				return;
+			}
+
+			if (cancellation.isCancelled()) {
+				abort();
+				return;
+			}
+
+			stats.polls.increment();
+			if (!reactiveEnabled) {
+				try {
+					onResult(dmDriver.getTranslationResult(taskId, endpoints));
+				} catch (final RuntimeException ex) {
+					onFailure(ex);
+				}
+
+				return;
+			}
+
+			// the poller thread is released immediately, the response is processed on the event loop
+			try {
+				pendingCheck = reactiveDmDriver.getTranslationResult(taskId, endpoints)
+						.subscribe(this::onResult, this::onFailure);
+				if (future.isDone()) {
+					// the task finished while the request was being sent
+					disposePendingCheck();
+				}
+			} catch (final RuntimeException ex) {
+				onFailure(ex);
+			}
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void onFailure(final Throwable ex) {
+			// the task only exists on this address, so there is no failover for status checks
+			loadBalancer.recordFailure(endpoints);
+			future.completeExceptionally(ex);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void onResult(final DataModelTranslationResultResponseDTO response) {
+			loadBalancer.recordSuccess(endpoints);
+			if (handle(response)) {
+				stats.completedByPoll.increment();
+				return;
+			}
+
+			if (future.isDone()) {
+				return;
+			}
+
+			final long remaining = deadline - clock.millis();
+			if (remaining <= 0) {
+				expire();
+				return;
+			}
+
+			// the sooner a translation finishes the more likely it is to be short, so the checks become sparser with time
+			schedule(Math.min(remaining, Math.min(maxDelay, delay * 2)));
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		private void abortRemotely() {
+			if (reactiveEnabled) {
+				reactiveDmDriver.abortTranslation(taskId, endpoints).subscribe();
+				return;
+			}
+
+			try {
+				scheduler.execute(() -> dmDriver.abortTranslation(taskId, endpoints));
+			} catch (final RejectedExecutionException ex) {
+				logger.debug("Translation task {} is not aborted: {}", taskId, ex.getMessage());
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class TranslatorStats {
+
+		//=================================================================================================
+		// members
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final LongAdder polls = new LongAdder();
+		private final LongAdder completedByPoll = new LongAdder();
+		private final LongAdder completedByCallback = new LongAdder();
+		private final LongAdder timedOut = new LongAdder();
+		private final LongAdder aborted = new LongAdder();
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		public Map<String, Object> getMetrics() {
+			final Map<String, Object> result = new LinkedHashMap<>();
+			result.put("inFlight", inFlight.get());
+			result.put("polls", polls.sum());
+			result.put("completedByPoll", completedByPoll.sum());
+			result.put("completedByCallback", completedByCallback.sum());
+			result.put("timedOut", timedOut.sum());
+			result.put("aborted", aborted.sum());
+
+			return result;
+		}
+	}
+}
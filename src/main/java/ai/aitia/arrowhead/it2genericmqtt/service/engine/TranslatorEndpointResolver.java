@@ -0,0 +1,144 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ai.aitia.arrowhead.Constants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorOperationPlan;
+import eu.arrowhead.common.Utilities;
+import eu.arrowhead.common.exception.InvalidParameterException;
+import eu.arrowhead.common.http.HttpUtilities;
+import eu.arrowhead.common.http.model.HttpInterfaceModel;
+
+@Component
+public class TranslatorEndpointResolver {
+
+	//=================================================================================================
+	// members
+
+	private static final String DEFAULT_INIT_TRANSLATION_PATH = "/init-translation";
+	private static final String DEFAULT_GET_TRANSLATION_RESULT_PATH = "/get-translation-result";
+	private static final String DEFAULT_ABORT_TRANSLATION_PATH = "/abort-translation";
+	private static final String QUERY_PARAM_TASK_ID = "taskId";
+	private static final String OPERATION_METHOD = "method";
+	private static final String OPERATION_PATH = "path";
+	private static final int MAX_TRANSLATORS = 1024;
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Autowired
+	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+
+	// bridges using the same translator share the resolved endpoints
+	private final Cache<Map<String, Object>, List<TranslatorEndpoints>> cache = Caffeine.newBuilder()
+			.maximumSize(MAX_TRANSLATORS)
+			.build();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// one item for every access address of the translator
+	public List<TranslatorEndpoints> resolve(final Map<String, Object> interfaceProperties) {
+		logger.debug("resolve started...");
+		Assert.isTrue(!Utilities.isEmpty(interfaceProperties), "Interface properties is missing");
+
+		// the descriptor comes from the request, so it can contain null values (Map.copyOf would reject them)
+		return cache.get(Collections.unmodifiableMap(new HashMap<>(interfaceProperties)), this::resolveEndpoints);
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private List<TranslatorEndpoints> resolveEndpoints(final Map<String, Object> interfaceProperties) {
+		logger.debug("resolveEndpoints started...");
+
+		if (!(interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_ADDRESSES) instanceof final List<?> addresses)
+				|| addresses.isEmpty()
+				|| addresses.contains(null)
+				|| !(interfaceProperties.get(HttpInterfaceModel.PROP_NAME_ACCESS_PORT) instanceof final Integer port)
+				|| interfaceProperties.get(HttpInterfaceModel.PROP_NAME_BASE_PATH) == null) {
+			throw new InvalidParameterException("Essential information about the data model translator is missing");
+		}
+
+		// every advertised address is a replica of the same translator
+		return addresses
+				.stream()
+				.map(address -> address.toString())
+				.distinct()
+				.map(host -> new TranslatorEndpoints(
+						host + ":" + port,
+						resolveOperation(interfaceProperties, host, port, Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_INIT_TRANSLATION, HttpMethod.POST, DEFAULT_INIT_TRANSLATION_PATH),
+						resolveOperation(interfaceProperties, host, port, Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_GET_TRANSLATION_RESULT, HttpMethod.GET, DEFAULT_GET_TRANSLATION_RESULT_PATH),
+						resolveOperation(interfaceProperties, host, port, Constants.SERVICE_OP_DATA_MODEL_TRANSLATOR_ABORT_TRANSLATION, HttpMethod.DELETE, DEFAULT_ABORT_TRANSLATION_PATH)))
+				.toList();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private TranslatorOperationPlan resolveOperation(
+			final Map<String, Object> interfaceProperties,
+			final String host,
+			final int port,
+			final String operation,
+			final HttpMethod defaultMethod,
+			final String defaultPath) {
+		logger.debug("resolveOperation started...");
+
+		HttpMethod method = defaultMethod;
+		String operationPath = defaultPath;
+		final String scheme = sysInfo.isSslEnabled() ? Constants.HTTPS : Constants.HTTP;
+		final String basePath = interfaceProperties.get(HttpInterfaceModel.PROP_NAME_BASE_PATH).toString();
+
+		// the operation descriptor is read directly, without converting it to a model object
+		if (interfaceProperties.get(HttpInterfaceModel.PROP_NAME_OPERATIONS) instanceof final Map<?, ?> operationsMap
+				&& operationsMap.get(operation) instanceof final Map<?, ?> operationModel) {
+			if (operationModel.get(OPERATION_METHOD) instanceof final String methodName
+					&& operationModel.get(OPERATION_PATH) instanceof final String path) {
+				method = HttpMethod.valueOf(methodName.trim().toUpperCase());
+				operationPath = path;
+			} else {
+				logger.warn("Invalid operations property for data model translator at {}:{}", host, port);
+			}
+		}
+
+		final UriComponents uri = HttpUtilities.createURI(scheme, host, port, basePath + operationPath);
+		final UriComponents taskUriTemplate = UriComponentsBuilder.newInstance()
+				.uriComponents(uri)
+				.queryParam(QUERY_PARAM_TASK_ID, "{" + QUERY_PARAM_TASK_ID + "}")
+				.build();
+
+		return new TranslatorOperationPlan(method, uri, taskUriTemplate);
+	}
+}
@@ -0,0 +1,370 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponents;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.SslMaterialProvider;
+import eu.arrowhead.common.exception.ExternalServerError;
+import eu.arrowhead.common.exception.InternalServerError;
+import eu.arrowhead.dto.ErrorMessageDTO;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.SslContextBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.SslProvider.ProtocolSslContextSpec;
+
+@Component
+public class TranslatorHttpClient implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String POOL_NAME = "data-model-translators";
+	private static final String METRICS_NAME = "translatorHttpClient";
+	private static final int TLS_SESSION_CACHE_SIZE = 1024;
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_POOL_MAX_CONNECTIONS_WD)
+	private int maxConnections;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_POOL_PENDING_ACQUIRE_MAX_WD)
+	private int pendingAcquireMax;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_POOL_IDLE_TIMEOUT_WD)
+	private long idleTimeout;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_POOL_EVICTION_INTERVAL_WD)
+	private long evictionInterval;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_CONNECT_TIMEOUT_WD)
+	private int connectTimeout;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_RESPONSE_TIMEOUT_WD)
+	private long responseTimeout;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_H2_ENABLED_WD)
+	private boolean h2Enabled;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$TRANSLATOR_HTTP_TLS_SESSION_TIMEOUT_WD)
+	private long tlsSessionTimeout; // in seconds
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DISABLE_HOSTNAME_VERIFIER_WD)
+	private boolean disableHostnameVerifier;
+
+	@Autowired
+	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+
+	@Autowired
+	private SslMaterialProvider sslMaterialProvider;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	private ConnectionProvider connectionProvider;
+	private HttpClient httpClient;
+	private WebClient webClient; // non-blocking access to the same connection pools
+
+	// one pool per translator address, registered by the connection provider when the first connection is made
+	private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public HttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public WebClient getWebClient() {
+		return webClient;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public ExternalServerError createResponseError(final UriComponents uri, final int status, final byte[] body) {
+		logger.debug("TranslatorHttpClient.createResponseError started...");
+		Assert.notNull(uri, "uri is null");
+
+		String message = body == null ? "" : new String(body, StandardCharsets.UTF_8);
+		if (body != null && body.length > 0) {
+			try {
+				final ErrorMessageDTO error = mapper.readValue(body, ErrorMessageDTO.class);
+				message = error.errorMessage();
+			} catch (final IOException ex) {
+				// not an Arrowhead error message, the raw body is reported
+			}
+		}
+
+		return new ExternalServerError("Data model translator at " + uri.getHost() + ":" + uri.getPort() + " responded with status " + status + ": " + message);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public <T> T sendRequest(final UriComponents uri, final HttpMethod method, final Class<T> responseType) {
+		return sendRequest(uri, method, responseType, null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public <T> T sendRequest(final UriComponents uri, final HttpMethod method, final Class<T> responseType, final Object payload) {
+		logger.debug("TranslatorHttpClient.sendRequest started...");
+		Assert.notNull(uri, "uri is null");
+		Assert.notNull(method, "method is null");
+		Assert.notNull(responseType, "responseType is null");
+
+		requests.increment();
+		try {
+			final byte[] body = payload == null ? null : mapper.writeValueAsBytes(payload);
+
+			final HttpClient.RequestSender sender = httpClient
+					.request(io.netty.handler.codec.http.HttpMethod.valueOf(method.name()))
+					.uri(uri.toUriString());
+			final HttpClient.ResponseReceiver<?> receiver = body == null
+					? sender
+					: sender.send(ByteBufFlux.fromInbound(Mono.just(body)));
+
+			final RawResponse response = receiver
+					.responseSingle((resp, content) -> content
+							.asByteArray()
+							.defaultIfEmpty(new byte[0])
+							.map(bytes -> new RawResponse(resp.status().code(), bytes)))
+					.block();
+
+			return convertResponse(uri, response, responseType);
+		} catch (final ExternalServerError | InternalServerError ex) {
+			failures.increment();
+			throw ex;
+		} catch (final IOException ex) {
+			failures.increment();
+			throw new InternalServerError(ex.getMessage(), ex);
+		} catch (final RuntimeException ex) {
+			// connection level problems (refused connection, timeout, saturated pool)
+			failures.increment();
+			throw new ExternalServerError("Data model translator is not available: " + ex.getMessage(), ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final Map<String, Object> poolMetrics = new TreeMap<>();
+		pools.forEach((address, metrics) -> {
+			final Map<String, Object> values = new LinkedHashMap<>();
+			values.put("acquired", metrics.acquiredSize());
+			values.put("allocated", metrics.allocatedSize());
+			values.put("idle", metrics.idleSize());
+			values.put("pendingAcquire", metrics.pendingAcquireSize());
+			values.put("maxAllocated", metrics.maxAllocatedSize());
+			values.put("maxPendingAcquire", metrics.maxPendingAcquireSize());
+
+			// above 1.0 requests are queueing for a connection
+			final int max = metrics.maxAllocatedSize();
+			values.put("saturation", max <= 0 ? 0.0 : (double) (metrics.acquiredSize() + metrics.pendingAcquireSize()) / max);
+			poolMetrics.put(address, values);
+		});
+
+		final Map<String, Object> result = new LinkedHashMap<>();
+		result.put("requests", requests.sum());
+		result.put("failures", failures.sum());
+		result.put("pools", poolMetrics);
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() throws GeneralSecurityException, IOException {
+		logger.debug("TranslatorHttpClient.init started...");
+
+		connectionProvider = ConnectionProvider.builder(POOL_NAME)
+				.maxConnections(maxConnections) // per translator address
+				.pendingAcquireMaxCount(pendingAcquireMax)
+				.maxIdleTime(Duration.ofMillis(idleTimeout))
+				.evictInBackground(Duration.ofMillis(evictionInterval))
+				.metrics(true, () -> new PoolMetricsRegistrar())
+				.build();
+
+		HttpClient client = HttpClient.create(connectionProvider)
+				.keepAlive(true)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+				.responseTimeout(Duration.ofMillis(responseTimeout))
+				.headers(headers -> headers
+						.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE + ", " + MediaType.TEXT_PLAIN_VALUE));
+
+		if (sysInfo.isSslEnabled()) {
+			// one shared context, so its session cache lets reconnections resume the TLS session instead of a full handshake
+			final ProtocolSslContextSpec sslSpec = h2Enabled
+					? Http2SslContextSpec.forClient().configure(this::configureSsl)
+					: Http11SslContextSpec.forClient().configure(this::configureSsl);
+			client = client
+					.protocol(h2Enabled ? new HttpProtocol[] { HttpProtocol.H2, HttpProtocol.HTTP11 } : new HttpProtocol[] { HttpProtocol.HTTP11 })
+					.secure(spec -> spec
+							.sslContext(sslSpec)
+							.handlerConfigurator(handler -> {
+								if (disableHostnameVerifier) {
+									final SSLEngine engine = handler.engine();
+									final SSLParameters parameters = engine.getSSLParameters();
+									parameters.setEndpointIdentificationAlgorithm(null);
+									engine.setSSLParameters(parameters);
+								}
+							}));
+		} else {
+			// HTTP/2 is only negotiated with TLS (ALPN), plain connections use keep-alive HTTP/1.1
+			client = client.protocol(HttpProtocol.HTTP11);
+		}
+
+		httpClient = client;
+		webClient = WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.codecs(configurer -> {
+					configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+					configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper));
+				})
+				.filter(this::countExchange)
+				.build();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Mono<ClientResponse> countExchange(final ClientRequest request, final ExchangeFunction next) {
+		requests.increment();
+
+		return next.exchange(request)
+				.doOnNext(response -> {
+					if (!response.statusCode().is2xxSuccessful()) {
+						failures.increment();
+					}
+				})
+				.doOnError(ex -> failures.increment());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("TranslatorHttpClient.destroy started...");
+
+		connectionProvider.dispose();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void configureSsl(final SslContextBuilder builder) {
+		try {
+			builder.keyManager(sslMaterialProvider.getKeyManagerFactory())
+					.trustManager(sslMaterialProvider.getTrustManagerFactory())
+					.sessionCacheSize(TLS_SESSION_CACHE_SIZE)
+					.sessionTimeout(tlsSessionTimeout);
+		} catch (final GeneralSecurityException | IOException ex) {
+			throw new InternalServerError("Unable to load the key and trust material: " + ex.getMessage(), ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unchecked")
+	private <T> T convertResponse(final UriComponents uri, final RawResponse response, final Class<T> responseType) throws IOException {
+		logger.debug("convertResponse started...");
+
+		if (response.status() < 200 || response.status() >= 300) {
+			throw createResponseError(uri, response.status(), response.body());
+		}
+
+		if (responseType == Void.TYPE || responseType == Void.class || response.body().length == 0) {
+			return null;
+		}
+
+		if (responseType == String.class) {
+			return (T) new String(response.body(), StandardCharsets.UTF_8);
+		}
+
+		return mapper.readValue(response.body(), responseType);
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record RawResponse(int status, byte[] body) {
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private final class PoolMetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void registerMetrics(final String poolName, final String id, final SocketAddress remoteAddress, final ConnectionPoolMetrics metrics) {
+			pools.put(remoteAddress.toString(), metrics);
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public void deRegisterMetrics(final String poolName, final String id, final SocketAddress remoteAddress) {
+			pools.remove(remoteAddress.toString());
+		}
+	}
+}
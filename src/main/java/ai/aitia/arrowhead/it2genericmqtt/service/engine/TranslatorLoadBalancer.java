@@ -0,0 +1,233 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.metrics.MetricsSource;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+
+// spreads the translation tasks over the access addresses of the data model translators (power of two choices on the tasks in progress)
+@Component
+public class TranslatorLoadBalancer implements MetricsSource {
+
+	//=================================================================================================
+	// members
+
+	private static final String METRICS_NAME = "translatorAddresses";
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_FAILURE_THRESHOLD_WD)
+	private int failureThreshold;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_UNHEALTHY_DURATION_WD)
+	private long unhealthyDuration;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY_WD)
+	private long addressExpiry;
+
+	@Autowired
+	private CoarseClock clock;
+
+	private final Map<String, Address> addresses = new ConcurrentHashMap<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns null if every candidate is excluded
+	public TranslatorEndpoints choose(final List<TranslatorEndpoints> candidates, final Collection<TranslatorEndpoints> excluded) {
+		logger.debug("TranslatorLoadBalancer.choose started...");
+		Assert.notNull(candidates, "candidates is null");
+		Assert.notNull(excluded, "excluded is null");
+
+		final long now = clock.millis();
+		final List<TranslatorEndpoints> healthy = new ArrayList<>(candidates.size());
+		final List<TranslatorEndpoints> unhealthy = new ArrayList<>(candidates.size());
+		for (final TranslatorEndpoints candidate : candidates) {
+			if (!excluded.contains(candidate)) {
+				(getAddress(candidate).isHealthy(now) ? healthy : unhealthy).add(candidate);
+			}
+		}
+
+		// failing addresses are only used if there is nothing else
+		final List<TranslatorEndpoints> usable = healthy.isEmpty() ? unhealthy : healthy;
+		final TranslatorEndpoints chosen = switch (usable.size()) {
+		case 0 -> null;
+		case 1 -> usable.get(0);
+		default -> chooseOfTwo(usable);
+		};
+
+		if (chosen != null) {
+			final Address address = getAddress(chosen);
+			address.selected.increment();
+			address.lastUsed = now;
+		}
+
+		return chosen;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// a task started on the address
+	public void acquire(final TranslatorEndpoints endpoints) {
+		// atomic with the expiry, so an address with tasks in progress is never dropped
+		addresses.compute(endpoints.address(), (k, address) -> {
+			final Address result = address == null ? new Address() : address;
+			result.inFlight.incrementAndGet();
+			result.lastUsed = clock.millis();
+
+			return result;
+		});
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// a task finished (or could not be started) on the address
+	public void release(final TranslatorEndpoints endpoints) {
+		final Address address = getAddress(endpoints);
+		address.lastUsed = clock.millis();
+		address.inFlight.decrementAndGet();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// bridges come and go, the addresses that no bridge used for a while are forgotten
+	@Scheduled(fixedDelayString = InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY_WD,
+			initialDelayString = InterfaceTranslatorToGenericMQTTConstants.$DATA_MODEL_TRANSLATOR_ADDRESS_EXPIRY_WD)
+	public void expireIdleAddresses() {
+		logger.debug("TranslatorLoadBalancer.expireIdleAddresses started...");
+
+		final long limit = clock.millis() - addressExpiry;
+		addresses.keySet().forEach(name -> addresses.computeIfPresent(name, (k, address) -> address.inFlight.get() == 0 && address.lastUsed < limit ? null : address));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void recordSuccess(final TranslatorEndpoints endpoints) {
+		getAddress(endpoints).consecutiveFailures.set(0);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void recordFailure(final TranslatorEndpoints endpoints) {
+		final Address address = getAddress(endpoints);
+		address.failures.increment();
+		if (address.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			address.consecutiveFailures.set(0);
+			address.unhealthyUntil = clock.millis() + unhealthyDuration;
+			logger.warn("Data model translator address {} is skipped for {} ms after repeated failures", endpoints.address(), unhealthyDuration);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void recordFailover(final TranslatorEndpoints endpoints) {
+		getAddress(endpoints).failovers.increment();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String getMetricsName() {
+		return METRICS_NAME;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public Map<String, Object> getMetrics() {
+		final long now = clock.millis();
+		final Map<String, Object> result = new TreeMap<>();
+		addresses.forEach((name, address) -> result.put(name, address.getMetrics(now)));
+
+		return result;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private Address getAddress(final TranslatorEndpoints endpoints) {
+		return addresses.computeIfAbsent(endpoints.address(), k -> new Address());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// two random candidates are compared, so a momentarily idle address is not flooded by every caller at once
+	private TranslatorEndpoints chooseOfTwo(final List<TranslatorEndpoints> candidates) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(candidates.size());
+		int second = random.nextInt(candidates.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+
+		final TranslatorEndpoints a = candidates.get(first);
+		final TranslatorEndpoints b = candidates.get(second);
+
+		return getAddress(a).inFlight.get() <= getAddress(b).inFlight.get() ? a : b;
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private final class Address {
+
+		//=================================================================================================
+		// members
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger consecutiveFailures = new AtomicInteger();
+		private final LongAdder selected = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder failovers = new LongAdder();
+		private volatile long unhealthyUntil = 0;
+		private volatile long lastUsed = clock.millis();
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		public boolean isHealthy(final long now) {
+			return now >= unhealthyUntil;
+		}
+
+		//-------------------------------------------------------------------------------------------------
+		public Map<String, Object> getMetrics(final long now) {
+			final Map<String, Object> result = new LinkedHashMap<>();
+			result.put("healthy", isHealthy(now));
+			result.put("inFlight", inFlight.get());
+			result.put("selected", selected.sum());
+			result.put("failures", failures.sum());
+			result.put("failovers", failovers.sum());
+
+			return result;
+		}
+	}
+}
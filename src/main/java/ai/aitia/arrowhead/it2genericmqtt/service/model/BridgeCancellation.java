@@ -0,0 +1,87 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class BridgeCancellation {
+
+	//=================================================================================================
+	// members
+
+	private volatile boolean cancelled = false;
+	private final Set<Runnable> callbacks = ConcurrentHashMap.newKeySet();
+	private final boolean child;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public BridgeCancellation() {
+		this(false);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private BridgeCancellation(final boolean child) {
+		this.child = child;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the callback runs at most once, either on cancellation or immediately if the bridge is already cancelled; returns the deregistration
+	public Runnable onCancel(final Runnable callback) {
+		callbacks.add(callback);
+		if (isCancelled() && callbacks.remove(callback)) {
+			callback.run();
+		}
+
+		return () -> callbacks.remove(callback);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the child is cancelled together with this one, but it can also be cancelled alone (e.g. the losing attempt of a hedged call)
+	public BridgeCancellation createChild() {
+		final BridgeCancellation child = new BridgeCancellation(true);
+		final Runnable deregistration = onCancel(child::cancel);
+		child.onCancel(deregistration); // a cancelled child needs no more notification
+
+		return child;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void cancelChild() {
+		if (!child) {
+			throw new IllegalStateException("Only a child cancellation can be cancelled directly");
+		}
+
+		cancel();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void cancel() {
+		cancelled = true;
+		for (final Runnable callback : callbacks) {
+			if (callbacks.remove(callback)) {
+				callback.run();
+			}
+		}
+	}
+}
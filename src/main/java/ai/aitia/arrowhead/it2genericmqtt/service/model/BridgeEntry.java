@@ -0,0 +1,81 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+final class BridgeEntry {
+
+	//=================================================================================================
+	// members
+
+	private static final AtomicLongFieldUpdater<BridgeEntry> LAST_ACTIVITY_UPDATER = AtomicLongFieldUpdater.newUpdater(BridgeEntry.class, "lastActivity");
+
+	private final BridgeExecutionPlan plan;
+	private final long inactivityThreshold; // in millisec
+
+	private volatile long lastActivity; // epoch millisec
+	private volatile boolean active = true;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	BridgeEntry(final BridgeExecutionPlan plan, final long inactivityThreshold, final long now) {
+		this.plan = plan;
+		this.inactivityThreshold = inactivityThreshold;
+		this.lastActivity = now;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	NormalizedTranslationBridgeModel getModel() {
+		return plan.model();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	BridgeExecutionPlan getPlan() {
+		return plan;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	long getLastActivity() {
+		return lastActivity;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	long getInactivityThreshold() {
+		return inactivityThreshold;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void touch(final long now) {
+		// most requests arrive within the same clock tick, those do not need to write anything
+		if (lastActivity != now) {
+			LAST_ACTIVITY_UPDATER.lazySet(this, now);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	boolean isActive() {
+		return active;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void deactivate() {
+		active = false;
+		plan.cancellation().cancel();
+	}
+}
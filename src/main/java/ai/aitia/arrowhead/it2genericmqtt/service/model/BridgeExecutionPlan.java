@@ -0,0 +1,36 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+public record BridgeExecutionPlan(
+		NormalizedTranslationBridgeModel model,
+		BridgeCancellation cancellation, // fired when the bridge is removed, wakes up every in-flight call of the bridge
+		ProviderCallPlan providerCall,
+		TranslatorCallPlan inputTranslation, // null if input is not translated
+		TranslatorCallPlan resultTranslation, // null if result is not translated
+		long resultCacheTtl) { // in millisec, 0 if the results of the bridge are not cached
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the longest time (in millisec) a call of the bridge may take if every step uses up its deadline
+	public long deadline() {
+		return providerCall.timeout()
+				+ (inputTranslation == null || inputTranslation.isLocal() ? 0 : inputTranslation.tries() * inputTranslation.waitMillis())
+				+ (resultTranslation == null || resultTranslation.isLocal() ? 0 : resultTranslation.tries() * resultTranslation.waitMillis());
+	}
+}
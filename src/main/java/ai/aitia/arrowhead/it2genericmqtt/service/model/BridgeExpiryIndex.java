@@ -0,0 +1,83 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class BridgeExpiryIndex {
+
+	//=================================================================================================
+	// members
+
+	// every active bridge has exactly one candidate in the index, ordered by the time when its inactivity has to be checked next
+	private final NavigableSet<ExpiryCandidate> candidates = new ConcurrentSkipListSet<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	void schedule(final BridgeEntry entry, final long deadline) {
+		candidates.add(new ExpiryCandidate(deadline, sequence.getAndIncrement(), entry));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	List<BridgeEntry> pollExpired(final long now) {
+		final List<BridgeEntry> result = new ArrayList<>();
+		final List<ExpiryCandidate> due = new ArrayList<>(candidates.headSet(new ExpiryCandidate(now, Long.MAX_VALUE, null), true));
+
+		for (final ExpiryCandidate candidate : due) {
+			if (!candidates.remove(candidate)) {
+				continue;
+			}
+
+			final BridgeEntry entry = candidate.entry();
+			if (!entry.isActive()) {
+				// bridge has been removed in the meantime
+				continue;
+			}
+
+			final long expiresAt = entry.getLastActivity() + entry.getInactivityThreshold();
+			if (expiresAt <= now) {
+				result.add(entry);
+			} else {
+				// there was activity since the candidate was scheduled
+				schedule(entry, expiresAt);
+			}
+		}
+
+		return result;
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record ExpiryCandidate(long deadline, long sequence, BridgeEntry entry) implements Comparable<ExpiryCandidate> {
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public int compareTo(final ExpiryCandidate other) {
+			final int result = Long.compare(deadline, other.deadline);
+
+			return result != 0 ? result : Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -0,0 +1,429 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import eu.arrowhead.common.Utilities;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class BridgeJournal {
+
+	//=================================================================================================
+	// members
+
+	private static final byte RECORD_ADD = 1;
+	private static final byte RECORD_REMOVE = 2;
+	private static final int RECORD_HEADER_SIZE = Integer.BYTES + Byte.BYTES; // length + type
+	private static final int UUID_SIZE = 2 * Long.BYTES;
+	private static final String COMPACTION_SUFFIX = ".compact";
+	private static final String TOKEN_CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+	private static final String TOKEN_KEY_ALGORITHM = "AES";
+	private static final String TOKEN_KEY_DIGEST_ALGORITHM = "SHA-256";
+	private static final int TOKEN_IV_SIZE = 12;
+	private static final int TOKEN_TAG_BITS = 128;
+	private static final String POSIX_ATTRIBUTE_VIEW = "posix";
+	private static final String OWNER_ONLY_PERMISSIONS = "rw-------"; // the journal contains the bridge settings of the providers
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_PERSISTENCE_ENABLED_WD)
+	private boolean enabled;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_JOURNAL_FILE_WD)
+	private String journalFile;
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_JOURNAL_INITIAL_SIZE_WD)
+	private long initialSize;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+
+	@Lazy
+	@Autowired
+	private BridgeStore bridgeStore;
+
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int liveRecords = 0;
+	private int deadRecords = 0;
+	private final SecureRandom random = new SecureRandom();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized List<NormalizedTranslationBridgeModel> replay() throws IOException {
+		logger.debug("BridgeJournal.replay started...");
+		Assert.isTrue(enabled, "Bridge persistence is disabled");
+
+		final Path path = Path.of(journalFile);
+		final Map<UUID, NormalizedTranslationBridgeModel> models = new LinkedHashMap<>();
+		if (Files.exists(path)) {
+			try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+				final MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+				readRecords(readBuffer, models);
+			}
+		}
+
+		// start with a compacted journal that only contains the live bridges
+		rewrite(models.values());
+		logger.info("{} translation bridge(s) restored from journal", models.size());
+
+		return new ArrayList<>(models.values());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void recordAdd(final NormalizedTranslationBridgeModel model) {
+		logger.debug("BridgeJournal.recordAdd started...");
+
+		if (!enabled || buffer == null) {
+			return;
+		}
+
+		try {
+			final byte[] record = serialize(model);
+			if (record == null) {
+				logger.warn("Translation bridge {} is not journaled, because its authorization token can't be encrypted without a token encryption key", model.bridgeId());
+				return;
+			}
+
+			append(RECORD_ADD, record);
+			liveRecords++;
+		} catch (final IOException ex) {
+			logger.error("Unable to write bridge journal: {}", ex.getMessage());
+			logger.debug(ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized void recordRemove(final UUID bridgeId) {
+		logger.debug("BridgeJournal.recordRemove started...");
+
+		if (!enabled || buffer == null) {
+			return;
+		}
+
+		final byte[] payload = new byte[UUID_SIZE];
+		ByteBuffer.wrap(payload)
+				.putLong(bridgeId.getMostSignificantBits())
+				.putLong(bridgeId.getLeastSignificantBits());
+
+		try {
+			append(RECORD_REMOVE, payload);
+			liveRecords = Math.max(0, liveRecords - 1);
+			deadRecords += 2; // the remove record itself and the add record it cancels
+		} catch (final IOException ex) {
+			logger.error("Unable to write bridge journal: {}", ex.getMessage());
+			logger.debug(ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Scheduled(fixedDelayString = InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_JOURNAL_COMPACTION_INTERVAL_WD,
+			initialDelayString = InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_JOURNAL_COMPACTION_INTERVAL_WD)
+	public synchronized void compact() {
+		logger.debug("BridgeJournal.compact started...");
+
+		if (!enabled || buffer == null || deadRecords <= liveRecords) {
+			// nothing to do or not worth it yet
+			return;
+		}
+
+		try {
+			rewrite(bridgeStore.getAllBridgeModels());
+		} catch (final IOException ex) {
+			logger.error("Bridge journal compaction failed: {}", ex.getMessage());
+			logger.debug(ex);
+		}
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private synchronized void close() {
+		logger.debug("BridgeJournal.close started...");
+
+		if (buffer != null) {
+			buffer.force();
+			buffer = null;
+		}
+
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (final IOException ex) {
+				logger.debug(ex);
+			}
+			channel = null;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void readRecords(final MappedByteBuffer readBuffer, final Map<UUID, NormalizedTranslationBridgeModel> models) {
+		logger.debug("readRecords started...");
+
+		while (readBuffer.remaining() >= RECORD_HEADER_SIZE) {
+			final int start = readBuffer.position();
+			final int length = readBuffer.getInt();
+			if (length <= 0 || length > readBuffer.remaining() - Byte.BYTES) {
+				// end of the journal (or a record that was not fully written before a crash)
+				break;
+			}
+
+			final byte type = readBuffer.get();
+			final byte[] payload = new byte[length];
+			readBuffer.get(payload);
+
+			try {
+				switch (type) {
+				case RECORD_ADD:
+					final NormalizedTranslationBridgeModel model = deserialize(payload);
+					models.put(model.bridgeId(), model);
+					break;
+				case RECORD_REMOVE:
+					final ByteBuffer idBuffer = ByteBuffer.wrap(payload);
+					models.remove(new UUID(idBuffer.getLong(), idBuffer.getLong()));
+					break;
+				default:
+					logger.warn("Unknown bridge journal record type at position {}", start);
+				}
+			} catch (final IOException | GeneralSecurityException | IllegalArgumentException ex) {
+				logger.warn("Invalid bridge journal record at position {}: {}", start, ex.getMessage());
+				logger.debug(ex);
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void rewrite(final Collection<NormalizedTranslationBridgeModel> models) throws IOException {
+		logger.debug("rewrite started...");
+
+		final Path path = Path.of(journalFile).toAbsolutePath();
+		final Path compactPath = Path.of(path.toString() + COMPACTION_SUFFIX);
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+
+		close();
+		Files.deleteIfExists(compactPath);
+		openJournal(compactPath);
+		int written = 0;
+		for (final NormalizedTranslationBridgeModel model : models) {
+			final byte[] record = serialize(model);
+			if (record != null) {
+				append(RECORD_ADD, record);
+				written++;
+			}
+		}
+		buffer.force();
+		close();
+
+		Files.move(compactPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		openJournal(path);
+		liveRecords = written;
+		deadRecords = 0;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void openJournal(final Path path) throws IOException {
+		logger.debug("openJournal started...");
+
+		// permissions only apply when the file is created, the journal is always created by a rewrite
+		final FileAttribute<?>[] attributes = path.getFileSystem().supportedFileAttributeViews().contains(POSIX_ATTRIBUTE_VIEW)
+				? new FileAttribute<?>[] { PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(OWNER_ONLY_PERMISSIONS)) }
+				: new FileAttribute<?>[0];
+		channel = FileChannel.open(path, Set.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), attributes);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialSize, channel.size()));
+
+		// find the end of the existing records
+		while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+			final int length = buffer.getInt(buffer.position());
+			if (length <= 0 || length > buffer.remaining() - RECORD_HEADER_SIZE) {
+				break;
+			}
+			buffer.position(buffer.position() + RECORD_HEADER_SIZE + length);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns null if the bridge can't be journaled without exposing its authorization token
+	private byte[] serialize(final NormalizedTranslationBridgeModel model) throws IOException {
+		logger.debug("serialize started...");
+
+		if (Utilities.isEmpty(model.authorizationToken())) {
+			return mapper.writeValueAsBytes(new JournalRecord(model, null));
+		}
+
+		if (Utilities.isEmpty(sysInfo.getTokenEncryptionKey())) {
+			return null;
+		}
+
+		try {
+			final byte[] iv = new byte[TOKEN_IV_SIZE];
+			random.nextBytes(iv);
+			final Cipher cipher = Cipher.getInstance(TOKEN_CIPHER_ALGORITHM);
+			cipher.init(Cipher.ENCRYPT_MODE, getTokenKey(), new GCMParameterSpec(TOKEN_TAG_BITS, iv));
+			final byte[] encrypted = cipher.doFinal(model.authorizationToken().getBytes(StandardCharsets.UTF_8));
+
+			final byte[] ivAndEncrypted = ByteBuffer.allocate(iv.length + encrypted.length)
+					.put(iv)
+					.put(encrypted)
+					.array();
+
+			return mapper.writeValueAsBytes(new JournalRecord(withAuthorizationToken(model, null), Base64.getEncoder().encodeToString(ivAndEncrypted)));
+		} catch (final GeneralSecurityException ex) {
+			throw new IOException("Unable to encrypt authorization token: " + ex.getMessage(), ex);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private NormalizedTranslationBridgeModel deserialize(final byte[] payload) throws IOException, GeneralSecurityException {
+		logger.debug("deserialize started...");
+
+		final JournalRecord record = mapper.readValue(payload, JournalRecord.class);
+		Assert.notNull(record.model(), "model is null");
+		if (record.encryptedToken() == null) {
+			return record.model();
+		}
+
+		if (Utilities.isEmpty(sysInfo.getTokenEncryptionKey())) {
+			throw new GeneralSecurityException("No token encryption key is configured");
+		}
+
+		final ByteBuffer ivAndEncrypted = ByteBuffer.wrap(Base64.getDecoder().decode(record.encryptedToken()));
+		final byte[] iv = new byte[TOKEN_IV_SIZE];
+		ivAndEncrypted.get(iv);
+		final byte[] encrypted = new byte[ivAndEncrypted.remaining()];
+		ivAndEncrypted.get(encrypted);
+
+		final Cipher cipher = Cipher.getInstance(TOKEN_CIPHER_ALGORITHM);
+		cipher.init(Cipher.DECRYPT_MODE, getTokenKey(), new GCMParameterSpec(TOKEN_TAG_BITS, iv));
+
+		return withAuthorizationToken(record.model(), new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private SecretKeySpec getTokenKey() throws GeneralSecurityException {
+		// the configured key can have any length, a digest of it is a valid AES key
+		final byte[] key = MessageDigest.getInstance(TOKEN_KEY_DIGEST_ALGORITHM).digest(sysInfo.getTokenEncryptionKey().getBytes(StandardCharsets.UTF_8));
+
+		return new SecretKeySpec(key, TOKEN_KEY_ALGORITHM);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private NormalizedTranslationBridgeModel withAuthorizationToken(final NormalizedTranslationBridgeModel model, final String authorizationToken) {
+		return new NormalizedTranslationBridgeModel(
+				model.endpointId(),
+				model.bridgeId(),
+				model.inputInterface(),
+				model.inputDataModelTranslator(),
+				model.resultDataModelTranslator(),
+				model.inputDataModelRequirement(),
+				model.resultDataModelRequirement(),
+				model.targetInterface(),
+				model.targetInterfaceProperties(),
+				model.operation(),
+				authorizationToken,
+				model.interfaceTranslatorSettings());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void append(final byte type, final byte[] payload) throws IOException {
+		final int recordSize = RECORD_HEADER_SIZE + payload.length;
+		if (buffer.remaining() < recordSize + Integer.BYTES) {
+			grow(recordSize);
+		}
+
+		final int start = buffer.position();
+		buffer.position(start + Integer.BYTES);
+		buffer.put(type);
+		buffer.put(payload);
+		buffer.putInt(start, payload.length); // length is written last, so a partially written record is never replayed
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void grow(final int recordSize) throws IOException {
+		logger.debug("grow started...");
+
+		final int position = buffer.position();
+		final long newSize = Math.max(2 * (long) buffer.capacity(), (long) position + recordSize + Integer.BYTES);
+		Assert.isTrue(newSize <= Integer.MAX_VALUE, "Bridge journal is too large");
+
+		buffer.force();
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+		buffer.position(position);
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	// the authorization token is never stored in plain text
+	record JournalRecord(
+			NormalizedTranslationBridgeModel model, // without the authorization token
+			String encryptedToken) { // Base64 encoded IV and cipher text, null if the bridge has no authorization token
+	}
+}
@@ -15,19 +15,26 @@
  *******************************************************************************/
 package ai.aitia.arrowhead.it2genericmqtt.service.model;
 
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
-import eu.arrowhead.common.Utilities;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
 
 @Component
 public class BridgeStore {
@@ -37,45 +44,54 @@ public class BridgeStore {
 
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
-	private Map<UUID, UUID> endpointIdToBridgeId = new ConcurrentHashMap<>();
-	private Map<UUID, NormalizedTranslationBridgeModel> bridgeIdToModel = new ConcurrentHashMap<>();
-	private Map<UUID, ZonedDateTime> bridgeIdToTimestamp = new ConcurrentHashMap<>();
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$BRIDGE_INACTIVITY_THRESHOLD_WD)
+	private int defaultInactivityThreshold; // in minutes
 
-	private static final Object LOCK = new Object();
+	@Autowired
+	private BridgeJournal journal;
+
+	@Autowired
+	private CoarseClock clock;
+
+	// one authoritative entry per bridge, the endpoint map is only a secondary index pointing to the same entry
+	private final Map<UUID, BridgeEntry> bridgeIdToEntry = new ConcurrentHashMap<>();
+	private final Map<UUID, BridgeEntry> endpointIdToEntry = new ConcurrentHashMap<>();
+	private final BridgeExpiryIndex expiryIndex = new BridgeExpiryIndex();
+
+	// adds and removes reach the journal in the same order as the maps, lookups never take it
+	private final Object mutationLock = new Object();
 
 	//=================================================================================================
 	// methods
 
 	//-------------------------------------------------------------------------------------------------
-	public void add(final NormalizedTranslationBridgeModel model) {
+	public void add(final BridgeExecutionPlan plan) {
 		logger.debug("BridgeStore.add started...");
-		Assert.notNull(model, "model is null");
+		Assert.notNull(plan, "plan is null");
 
-		synchronized (LOCK) {
-			endpointIdToBridgeId.put(model.endpointId(), model.bridgeId());
-			bridgeIdToModel.put(model.bridgeId(), model);
-			bridgeIdToTimestamp.put(model.bridgeId(), Utilities.utcNow());
+		synchronized (mutationLock) {
+			addEntry(plan);
+			journal.recordAdd(plan.model());
 		}
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public boolean containsEndpointId(final UUID endpointId) {
-		logger.debug("BridgeStore.containsEndpointId started...");
-		Assert.notNull(endpointId, "endpointId is null");
+	public void restore(final Collection<BridgeExecutionPlan> plans) {
+		logger.debug("BridgeStore.restore started...");
+		Assert.notNull(plans, "plans is null");
 
-		synchronized (LOCK) {
-			return endpointIdToBridgeId.containsKey(endpointId);
-		}
+		// restored bridges are already in the journal
+		plans.forEach(p -> addEntry(p));
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public boolean containsBridgeId(final UUID bridgeId) {
-		logger.debug("BridgeStore.containsBridgeId started...");
-		Assert.notNull(bridgeId, "bridgeId is null");
+	public boolean containsEndpointId(final UUID endpointId) {
+		logger.debug("BridgeStore.containsEndpointId started...");
+		Assert.notNull(endpointId, "endpointId is null");
 
-		synchronized (LOCK) {
-			return bridgeIdToModel.containsKey(bridgeId);
-		}
+		final BridgeEntry entry = endpointIdToEntry.get(endpointId);
+
+		return entry != null && entry.isActive();
 	}
 
 	//-------------------------------------------------------------------------------------------------
@@ -83,29 +99,33 @@ public class BridgeStore {
 		logger.debug("BridgeStore.getByBridgeId started...");
 		Assert.notNull(bridgeId, "bridgeId is null");
 
-		synchronized (LOCK) {
-			return bridgeIdToModel.get(bridgeId);
-		}
+		final BridgeEntry entry = bridgeIdToEntry.get(bridgeId);
+
+		return entry == null ? null : entry.getModel();
 	}
 
 	//-------------------------------------------------------------------------------------------------
 	public NormalizedTranslationBridgeModel getByEndpointId(final UUID endpointId) {
 		logger.debug("BridgeStore.getByEndpointId started...");
-		Assert.notNull(endpointId, "endpointId is null");
 
-		synchronized (LOCK) {
-			final UUID bridgeId = endpointIdToBridgeId.get(endpointId);
-			if (bridgeId != null) {
-				final NormalizedTranslationBridgeModel result = bridgeIdToModel.get(bridgeId);
-				if (result != null) {
-					bridgeIdToTimestamp.put(bridgeId, Utilities.utcNow()); // new activity on the bridge
-				}
+		final BridgeExecutionPlan plan = getPlanByEndpointId(endpointId);
 
-				return result;
-			}
+		return plan == null ? null : plan.model();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public BridgeExecutionPlan getPlanByEndpointId(final UUID endpointId) {
+		logger.debug("BridgeStore.getPlanByEndpointId started...");
+		Assert.notNull(endpointId, "endpointId is null");
 
+		final BridgeEntry entry = endpointIdToEntry.get(endpointId);
+		if (entry == null || !entry.isActive()) {
 			return null;
 		}
+
+		entry.touch(clock.millis()); // new activity on the bridge
+
+		return entry.getPlan();
 	}
 
 	//-------------------------------------------------------------------------------------------------
@@ -113,31 +133,111 @@ public class BridgeStore {
 		logger.debug("BridgeStore.removeByBridgeId started...");
 		Assert.notNull(bridgeId, "bridgeId is null");
 
-		synchronized (LOCK) {
-			final NormalizedTranslationBridgeModel model = bridgeIdToModel.remove(bridgeId);
-			if (model != null) {
-				bridgeIdToTimestamp.remove(bridgeId);
-				endpointIdToBridgeId.remove(model.endpointId());
+		final BridgeEntry entry;
+		synchronized (mutationLock) {
+			entry = bridgeIdToEntry.remove(bridgeId);
+			if (entry == null) {
+				return null;
 			}
 
-			return model;
+			entry.deactivate();
+			endpointIdToEntry.remove(entry.getModel().endpointId(), entry);
+			journal.recordRemove(bridgeId);
 		}
+
+		return entry.getModel();
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public List<NormalizedTranslationBridgeModel> getBridgeModelsWithOlderActivityThan(final ZonedDateTime threshold) {
-		logger.debug("BridgeStore.getBridgeModelsWithOlderActivityThan started...");
-		Assert.notNull(threshold, "threshold is null");
+	public List<NormalizedTranslationBridgeModel> getAllBridgeModels() {
+		logger.debug("BridgeStore.getAllBridgeModels started...");
 
+		return bridgeIdToEntry.values()
+				.stream()
+				.map(BridgeEntry::getModel)
+				.toList();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the provider brokers that the live bridges reach directly
+	public Set<ProviderBrokerEndpoint> getProviderBrokers() {
+		logger.debug("BridgeStore.getProviderBrokers started...");
+
+		return bridgeIdToEntry.values()
+				.stream()
+				.map(e -> e.getPlan().providerCall().broker())
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the removed bridges
+	public List<NormalizedTranslationBridgeModel> removeBridgesInactiveAt(final long now) {
+		logger.debug("BridgeStore.removeBridgesInactiveAt started...");
+
+		// only the bridges whose inactivity deadline has passed are examined
 		final List<NormalizedTranslationBridgeModel> result = new ArrayList<>();
-		synchronized (LOCK) {
-			bridgeIdToTimestamp.forEach((id, timestamp) -> {
-				if (timestamp.isBefore(threshold)) {
-					result.add(bridgeIdToModel.get(id));
-				}
-			});
+		for (final BridgeEntry entry : expiryIndex.pollExpired(now)) {
+			if (removeEntry(entry)) {
+				result.add(entry.getModel());
+			}
 		}
 
 		return result;
 	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void addEntry(final BridgeExecutionPlan plan) {
+		logger.debug("addEntry started...");
+
+		final NormalizedTranslationBridgeModel model = plan.model();
+		final BridgeEntry entry = new BridgeEntry(plan, calculateInactivityThreshold(model), clock.millis());
+		final BridgeEntry previous = bridgeIdToEntry.put(model.bridgeId(), entry);
+		if (previous != null) {
+			previous.deactivate();
+			endpointIdToEntry.remove(previous.getModel().endpointId(), previous);
+		}
+
+		endpointIdToEntry.put(model.endpointId(), entry);
+		if (!entry.isActive()) {
+			// a concurrent remove happened before the index was updated
+			endpointIdToEntry.remove(model.endpointId(), entry);
+		}
+
+		expiryIndex.schedule(entry, entry.getLastActivity() + entry.getInactivityThreshold());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// removes the bridge only if it is still this entry, a bridge re-registered under the same id in the meantime is kept
+	private boolean removeEntry(final BridgeEntry entry) {
+		logger.debug("removeEntry started...");
+
+		final NormalizedTranslationBridgeModel model = entry.getModel();
+		synchronized (mutationLock) {
+			if (!bridgeIdToEntry.remove(model.bridgeId(), entry)) {
+				return false;
+			}
+
+			entry.deactivate();
+			endpointIdToEntry.remove(model.endpointId(), entry);
+			journal.recordRemove(model.bridgeId());
+		}
+
+		return true;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private long calculateInactivityThreshold(final NormalizedTranslationBridgeModel model) {
+		logger.debug("calculateInactivityThreshold started...");
+
+		final Object value = model.interfaceTranslatorSettings() == null
+				? null
+				: model.interfaceTranslatorSettings().get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_BRIDGE_INACTIVITY_THRESHOLD);
+		final int threshold = value instanceof final Integer intValue ? intValue : defaultInactivityThreshold;
+
+		return TimeUnit.MINUTES.toMillis(threshold);
+	}
 }
\ No newline at end of file
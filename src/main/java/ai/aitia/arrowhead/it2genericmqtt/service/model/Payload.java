@@ -0,0 +1,132 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.util.Assert;
+
+// immutable bytes of a request or result travelling through the bridge; the content is never copied inside the bridge,
+// Base64 is only produced where an external contract needs it
+public final class Payload {
+
+	//=================================================================================================
+	// members
+
+	public static final Payload EMPTY = new Payload(new byte[0]);
+
+	private final byte[] data; // never modified and never handed out
+	private int hash; // lazily calculated, 0 means not yet
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the array is taken over without copying, so the caller must not modify it afterwards (use it for freshly created arrays only)
+	public static Payload wrap(final byte[] data) {
+		Assert.notNull(data, "data is null");
+
+		return data.length == 0 ? EMPTY : new Payload(data);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public static Payload of(final String text) {
+		Assert.notNull(text, "text is null");
+
+		return wrap(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public static Payload fromBase64(final String base64) {
+		Assert.notNull(base64, "base64 is null");
+
+		return wrap(Base64.getDecoder().decode(base64));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public int size() {
+		return data.length;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isEmpty() {
+		return data.length == 0;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String toBase64() {
+		return Base64.getEncoder().encodeToString(data);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String asString(final Charset charset) {
+		return new String(data, charset);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// for parsers (e.g. Jackson), reading the stream does not copy the content
+	public InputStream asInputStream() {
+		return new ByteArrayInputStream(data);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public void updateDigest(final MessageDigest digest) {
+		digest.update(data);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// payloads are compared by content
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		return obj instanceof final Payload other && Arrays.equals(data, other.data);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public int hashCode() {
+		int result = hash;
+		if (result == 0) {
+			result = Arrays.hashCode(data);
+			hash = result;
+		}
+
+		return result;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return "Payload [size=" + data.length + "]";
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private Payload(final byte[] data) {
+		this.data = data;
+	}
+}
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+public record ProviderCallPlan(
+		ProviderBrokerEndpoint broker, // null if the target does not define its broker
+		String baseTopic, // identifies the provider target together with the broker
+		String topic,
+		int requestQos,
+		int responseQos,
+		long timeout, // in millisec, the adaptive deadline of the target is never longer
+		boolean coalesce) { // identical concurrent calls share one provider request
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.util.List;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.LocalDataModelTranslator;
+import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
+
+public record TranslatorCallPlan(
+		TranslationDataModelTranslationDataDescriptorDTO translator,
+		List<TranslatorEndpoints> replicas, // one per access address, empty if the translation is local
+		int tries,
+		long waitMillis,
+		boolean cacheable, // the results can be reused for the same input
+		boolean hedged, // a slow translation is duplicated on another address
+		LocalDataModelTranslator localTranslator) { // null if the translation is done by the remote data model translator
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public boolean isLocal() {
+		return localTranslator != null;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// identifies the translator in the metrics
+	public String translatorName() {
+		return replicas.isEmpty() ? "local" : replicas.get(0).address();
+	}
+}
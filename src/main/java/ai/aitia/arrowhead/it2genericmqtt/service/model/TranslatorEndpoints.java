@@ -0,0 +1,24 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+// the operations of a data model translator on one of its access addresses
+public record TranslatorEndpoints(
+		String address, // host:port
+		TranslatorOperationPlan initTranslation,
+		TranslatorOperationPlan getTranslationResult,
+		TranslatorOperationPlan abortTranslation) {
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponents;
+
+public record TranslatorOperationPlan(
+		HttpMethod method,
+		UriComponents uri, // without query parameters
+		UriComponents taskUriTemplate) { // uri with a taskId query parameter placeholder
+
+	//-------------------------------------------------------------------------------------------------
+	// only the task identifier is substituted, the rest of the uri is not parsed again
+	public UriComponents taskUri(final String taskId) {
+		return taskUriTemplate.expand(taskId).encode();
+	}
+}
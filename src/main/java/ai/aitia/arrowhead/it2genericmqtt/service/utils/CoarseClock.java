@@ -0,0 +1,106 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.utils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import eu.arrowhead.common.Utilities;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class CoarseClock {
+
+	//=================================================================================================
+	// members
+
+	private static final long MILLIS_PER_SECOND = 1000;
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	@Value(InterfaceTranslatorToGenericMQTTConstants.$COARSE_CLOCK_RESOLUTION_WD)
+	private long resolution; // in millisec
+
+	private volatile long now = System.currentTimeMillis();
+	private volatile FormattedSecond formattedSecond = new FormattedSecond(-1, null);
+
+	private ScheduledExecutorService ticker;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	public long millis() {
+		return now;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public String utcString() {
+		final long current = now;
+		final long second = current / MILLIS_PER_SECOND;
+
+		FormattedSecond cached = formattedSecond;
+		if (cached.second() != second) {
+			// formatting only happens once per second, every other caller reuses the string
+			cached = new FormattedSecond(second, Utilities.convertZonedDateTimeToUTCString(ZonedDateTime.ofInstant(Instant.ofEpochMilli(current), ZoneOffset.UTC)));
+			formattedSecond = cached;
+		}
+
+		return cached.value();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	@PostConstruct
+	private void init() {
+		logger.debug("CoarseClock.init started...");
+
+		ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "coarse-clock");
+			thread.setDaemon(true);
+			return thread;
+		});
+		ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), resolution, resolution, TimeUnit.MILLISECONDS);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@PreDestroy
+	private void destroy() {
+		logger.debug("CoarseClock.destroy started...");
+
+		ticker.shutdownNow();
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record FormattedSecond(long second, String value) {
+	}
+}
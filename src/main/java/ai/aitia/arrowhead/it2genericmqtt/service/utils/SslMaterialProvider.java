@@ -0,0 +1,112 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.utils;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import ai.aitia.arrowhead.Constants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import eu.arrowhead.common.SSLProperties;
+import eu.arrowhead.common.Utilities;
+
+@Component
+public class SslMaterialProvider {
+
+	//=================================================================================================
+	// members
+
+	private static final String SSL_KEY_MANAGER_FACTORY_ALGORITHM = "ssl.KeyManagerFactory.algorithm";
+	private static final String SSL_TRUST_MANAGER_FACTORY_ALGORITHM = "ssl.TrustManagerFactory.algorithm";
+
+	private final Logger logger = LogManager.getLogger(getClass());
+
+	@Autowired
+	private InterfaceTranslatorToGenericMQTTSystemInfo sysInfo;
+
+	private KeyManagerFactory keyManagerFactory = null;
+	private TrustManagerFactory trustManagerFactory = null;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	// the key and trust material of the system is used by every outgoing secure connection, so it is only loaded once
+	public synchronized KeyManagerFactory getKeyManagerFactory() throws GeneralSecurityException, IOException {
+		logger.debug("getKeyManagerFactory started...");
+
+		if (keyManagerFactory == null) {
+			load();
+		}
+
+		return keyManagerFactory;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	public synchronized TrustManagerFactory getTrustManagerFactory() throws GeneralSecurityException, IOException {
+		logger.debug("getTrustManagerFactory started...");
+
+		if (trustManagerFactory == null) {
+			load();
+		}
+
+		return trustManagerFactory;
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void load() throws GeneralSecurityException, IOException {
+		logger.debug("SslMaterialProvider.load started...");
+
+		final SSLProperties sslProperties = sysInfo.getSslProperties();
+		final String messageNotDefined = " is not defined";
+		Assert.isTrue(!Utilities.isEmpty(sslProperties.getKeyStoreType()), Constants.SERVER_SSL_KEY__STORE__TYPE + messageNotDefined);
+		Assert.notNull(sslProperties.getKeyStore(), Constants.SERVER_SSL_KEY__STORE + messageNotDefined);
+		Assert.isTrue(sslProperties.getKeyStore().exists(), Constants.SERVER_SSL_KEY__STORE + " file is not found");
+		Assert.notNull(sslProperties.getKeyStorePassword(), Constants.SERVER_SSL_KEY__STORE__PASSWORD + messageNotDefined);
+		Assert.notNull(sslProperties.getKeyPassword(), Constants.SERVER_SSL_KEY__PASSWORD + messageNotDefined);
+		Assert.notNull(sslProperties.getTrustStore(), Constants.SERVER_SSL_TRUST__STORE + messageNotDefined);
+		Assert.isTrue(sslProperties.getTrustStore().exists(), Constants.SERVER_SSL_TRUST__STORE + " file is not found");
+		Assert.notNull(sslProperties.getTrustStorePassword(), Constants.SERVER_SSL_TRUST__STORE__PASSWORD + messageNotDefined);
+
+		final KeyStore keyStore = KeyStore.getInstance(sslProperties.getKeyStoreType());
+		keyStore.load(sslProperties.getKeyStore().getInputStream(), sslProperties.getKeyStorePassword().toCharArray());
+		final String kmfAlgorithm = System.getProperty(SSL_KEY_MANAGER_FACTORY_ALGORITHM, KeyManagerFactory.getDefaultAlgorithm());
+		final KeyManagerFactory kmf = KeyManagerFactory.getInstance(kmfAlgorithm);
+		kmf.init(keyStore, sslProperties.getKeyStorePassword().toCharArray());
+
+		final KeyStore trustStore = KeyStore.getInstance(sslProperties.getKeyStoreType());
+		trustStore.load(sslProperties.getTrustStore().getInputStream(), sslProperties.getTrustStorePassword().toCharArray());
+		final String tmfAlgorithm = System.getProperty(SSL_TRUST_MANAGER_FACTORY_ALGORITHM, TrustManagerFactory.getDefaultAlgorithm());
+		final TrustManagerFactory tmf = TrustManagerFactory.getInstance(tmfAlgorithm);
+		tmf.init(trustStore);
+
+		keyManagerFactory = kmf;
+		trustManagerFactory = tmf;
+	}
+}
@@ -24,6 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import ai.aitia.arrowhead.it2genericmqtt.service.model.NormalizedTranslationBridgeModel;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.exception.InvalidParameterException;
 
@@ -58,13 +59,13 @@ public class DynamicServiceValidation {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public void crossCheckModelAndPayload(final NormalizedTranslationBridgeModel model, final String payloadBase64, final String origin) {
+	public void crossCheckModelAndPayload(final NormalizedTranslationBridgeModel model, final Payload payload, final String origin) {
 		logger.debug("crossCheckModelAndPayload started...");
 		Assert.notNull(model, "model is missing");
 		Assert.isTrue(!Utilities.isEmpty(origin), "origin is empty");
 
 		// error if there is an input translator but no payload
-		if (model.inputDataModelTranslator() != null && payloadBase64 == null) {
+		if (model.inputDataModelTranslator() != null && payload == null) {
 			throw new InvalidParameterException("Payload is missing", origin);
 		}
 
@@ -72,7 +73,7 @@ public class DynamicServiceValidation {
 	}
 
 	//-------------------------------------------------------------------------------------------------
-	public void crossCheckModelAndResult(final NormalizedTranslationBridgeModel model, final Optional<byte[]> result, final String origin) {
+	public void crossCheckModelAndResult(final NormalizedTranslationBridgeModel model, final Optional<Payload> result, final String origin) {
 		logger.debug("crossCheckModelAndResult started...");
 		Assert.notNull(model, "model is missing");
 		Assert.isTrue(!Utilities.isEmpty(origin), "origin is empty");
@@ -24,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
 import ai.aitia.arrowhead.it2genericmqtt.service.model.NormalizedTranslationBridgeModel;
 import eu.arrowhead.common.Utilities;
 import eu.arrowhead.common.exception.InvalidParameterException;
@@ -45,6 +46,8 @@ public class ManagementServiceValidation {
 	//=================================================================================================
 	// members
 
+	private static final int MAX_QOS = 2;
+
 	private final Logger logger = LogManager.getLogger(this.getClass());
 
 	@Autowired
@@ -195,6 +198,45 @@ public class ManagementServiceValidation {
 		if (Utilities.isEmpty(dto.operation())) {
 			throw new InvalidParameterException("Operation is missing", origin);
 		}
+
+		if (dto.interfaceTranslatorSettings() != null) {
+			validateInterfaceTranslatorSettings(dto.interfaceTranslatorSettings(), origin);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void validateInterfaceTranslatorSettings(final Map<String, Object> settings, final String origin) {
+		logger.debug("validateInterfaceTranslatorSettings started...");
+
+		if (settings.containsKey(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_BRIDGE_INACTIVITY_THRESHOLD)
+				&& !(settings.get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_BRIDGE_INACTIVITY_THRESHOLD) instanceof final Integer threshold && threshold > 0)) {
+			throw new InvalidParameterException(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_BRIDGE_INACTIVITY_THRESHOLD + " must be a positive integer", origin);
+		}
+
+		if (settings.containsKey(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_PROVIDER_QOS)
+				&& !(settings.get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_PROVIDER_QOS) instanceof final Integer qos && qos >= 0 && qos <= MAX_QOS)) {
+			throw new InvalidParameterException(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_PROVIDER_QOS + " must be 0, 1 or 2", origin);
+		}
+
+		if (settings.containsKey(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_COALESCE_PROVIDER_CALLS)
+				&& !(settings.get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_COALESCE_PROVIDER_CALLS) instanceof Boolean)) {
+			throw new InvalidParameterException(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_COALESCE_PROVIDER_CALLS + " must be a boolean", origin);
+		}
+
+		if (settings.containsKey(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_CACHE_TRANSLATIONS)
+				&& !(settings.get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_CACHE_TRANSLATIONS) instanceof Boolean)) {
+			throw new InvalidParameterException(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_CACHE_TRANSLATIONS + " must be a boolean", origin);
+		}
+
+		if (settings.containsKey(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_HEDGE_TRANSLATIONS)
+				&& !(settings.get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_HEDGE_TRANSLATIONS) instanceof Boolean)) {
+			throw new InvalidParameterException(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_HEDGE_TRANSLATIONS + " must be a boolean", origin);
+		}
+
+		if (settings.containsKey(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_RESULT_CACHE_TTL)
+				&& !(settings.get(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_RESULT_CACHE_TTL) instanceof final Integer ttl && ttl >= 0)) {
+			throw new InvalidParameterException(InterfaceTranslatorToGenericMQTTConstants.SETTING_KEY_RESULT_CACHE_TTL + " must be a non-negative integer", origin);
+		}
 	}
 
 	//-------------------------------------------------------------------------------------------------
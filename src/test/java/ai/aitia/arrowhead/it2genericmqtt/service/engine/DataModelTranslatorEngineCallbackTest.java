@@ -0,0 +1,265 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.util.Pair;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.engine.TranslationCallbackRegistry.TranslationCallback;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import eu.arrowhead.common.exception.ExternalServerError;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
+import eu.arrowhead.dto.enums.DataModelTranslationStatus;
+
+public class DataModelTranslatorEngineCallbackTest {
+
+	//=================================================================================================
+	// members
+
+	private static final long WAIT_MILLIS = 1000;
+	private static final int TRIES = 5;
+	private static final long TIMEOUT = 5000; // in millisec, for the test itself
+	private static final long LONG_POLL_DELAY = 3000; // in millisec, no status check happens during a test that uses it
+
+	private StandInDataModelTranslator standIn;
+	private TranslatorTestComponents components;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@BeforeEach
+	public void setUp() throws IOException {
+		standIn = new StandInDataModelTranslator();
+		standIn.setTranslationTime(20);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@AfterEach
+	public void tearDown() {
+		if (components != null) {
+			components.close();
+		}
+		standIn.close();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testCallbackModeCompletesWithoutStatusCheck() throws Exception {
+		components = new TranslatorTestComponents(true, true, 5, LONG_POLL_DELAY);
+
+		final long start = System.currentTimeMillis();
+		final Pair<Payload, String> result = translate(new BridgeCancellation()).get(TIMEOUT, TimeUnit.MILLISECONDS);
+
+		assertResult(result);
+		assertTrue(System.currentTimeMillis() - start < LONG_POLL_DELAY, "The translation waited for a status check");
+		assertEquals(0, standIn.getPolls());
+		assertEquals(1, standIn.getCallbackUrls().size());
+		awaitPollerMetric("completedByCallback", 1);
+		await(() -> standIn.getCallbackStatuses().size() == 1);
+		assertEquals(List.of(200), standIn.getCallbackStatuses());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testPollingModeReactive() throws Exception {
+		components = new TranslatorTestComponents(true, false, 5, 50);
+
+		assertResult(translate(new BridgeCancellation()).get(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertTrue(standIn.getPolls() >= 1);
+		assertTrue(standIn.getCallbackUrls().isEmpty());
+		awaitPollerMetric("completedByPoll", 1);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testPollingModeBlocking() throws Exception {
+		components = new TranslatorTestComponents(false, false, 5, 50);
+
+		assertResult(translate(new BridgeCancellation()).get(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertTrue(standIn.getPolls() >= 1);
+		assertTrue(standIn.getCallbackUrls().isEmpty());
+		awaitPollerMetric("completedByPoll", 1);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testLostCallbackFallsBackToPolling() throws Exception {
+		components = new TranslatorTestComponents(true, true, 5, 50);
+		standIn.setCallbacksDropped(true);
+
+		assertResult(translate(new BridgeCancellation()).get(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertEquals(1, standIn.getCallbackUrls().size());
+		assertTrue(standIn.getCallbackStatuses().isEmpty());
+		awaitPollerMetric("completedByPoll", 1);
+		awaitNoPendingCallback();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testCallbackIdIsSingleUse() throws Exception {
+		components = new TranslatorTestComponents(true, true, 5, LONG_POLL_DELAY);
+
+		final TranslationCallback callback = components.callbackRegistry.register();
+		final DataModelTranslationResultResponseDTO response = standIn.createResponse(DataModelTranslationStatus.DONE, Payload.of("first").toBase64());
+
+		assertTrue(components.callbackRegistry.complete(callback.id(), response));
+		assertEquals(response, callback.future().get(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		// the identifier is spent, a replayed or forged result can't reach the translation
+		assertFalse(components.callbackRegistry.complete(callback.id(), standIn.createResponse(DataModelTranslationStatus.DONE, Payload.of("second").toBase64())));
+		assertEquals(response, callback.future().get());
+		awaitNoPendingCallback();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testIntermediateCallbackKeepsTheIdAlive() throws Exception {
+		components = new TranslatorTestComponents(true, true, 5, LONG_POLL_DELAY);
+
+		final TranslationCallback callback = components.callbackRegistry.register();
+
+		assertTrue(components.callbackRegistry.complete(callback.id(), standIn.createResponse(DataModelTranslationStatus.IN_PROGRESS, null)));
+		assertFalse(callback.future().isDone());
+		assertTrue(components.callbackRegistry.complete(callback.id(), standIn.createResponse(DataModelTranslationStatus.DONE, Payload.of("done").toBase64())));
+		assertTrue(callback.future().isDone());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testCallbackIsReleasedOnAbort() throws Exception {
+		components = new TranslatorTestComponents(true, true, 5, LONG_POLL_DELAY);
+		standIn.setTranslationTime(60000); // never finishes during the test
+
+		final BridgeCancellation cancellation = new BridgeCancellation().createChild();
+		final CompletableFuture<Pair<Payload, String>> future = translate(cancellation);
+		await(() -> standIn.getCallbackUrls().size() == 1 && Integer.valueOf(1).equals(getPollerMetric("inFlight")));
+
+		cancellation.cancelChild();
+
+		final ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertInstanceOf(ExternalServerError.class, ex.getCause());
+		awaitPollerMetric("aborted", 1);
+		await(() -> standIn.getAborts() == 1);
+
+		// the released identifier is not accepted any more
+		awaitNoPendingCallback();
+		assertFalse(components.callbackRegistry.complete(getCallbackId(0), standIn.createResponse(DataModelTranslationStatus.DONE, Payload.of("late").toBase64())));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testLateCallbackAfterPollFinishedIsIgnored() throws Exception {
+		components = new TranslatorTestComponents(true, true, 1, 50);
+		standIn.setCallbackDelay(2000); // the status check finds the result long before
+
+		final Pair<Payload, String> result = translate(new BridgeCancellation()).get(TIMEOUT, TimeUnit.MILLISECONDS);
+		assertResult(result);
+		awaitPollerMetric("completedByPoll", 1);
+		awaitNoPendingCallback();
+
+		// the translator still delivers its callback, it is accepted but finishes nothing
+		await(() -> standIn.getCallbackStatuses().size() == 1);
+		assertEquals(List.of(200), standIn.getCallbackStatuses());
+		assertEquals(0L, getPollerMetric("completedByCallback"));
+		assertFalse(components.callbackRegistry.complete(getCallbackId(0), standIn.createResponse(DataModelTranslationStatus.DONE, Payload.of("late").toBase64())));
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private CompletableFuture<Pair<Payload, String>> translate(final BridgeCancellation cancellation) {
+		final TranslatorCallPlan plan = new TranslatorCallPlan(
+				new TranslationDataModelTranslationDataDescriptorDTO("testInputModel", "testOutputModel", Map.of(), Map.of()),
+				List.of(standIn.getEndpoints()),
+				TRIES,
+				WAIT_MILLIS,
+				false,
+				false,
+				null);
+
+		return components.engine.translateAsync(cancellation, plan, Payload.of("hello translator"));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void assertResult(final Pair<Payload, String> result) {
+		assertEquals("HELLO TRANSLATOR", result.getFirst().asString(StandardCharsets.UTF_8));
+		assertEquals(StandInDataModelTranslator.MIME_TYPE, result.getSecond());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the callback and the metrics are updated by the completion handlers, which may run after the caller is woken up
+	@SuppressWarnings("unchecked")
+	private void awaitNoPendingCallback() throws InterruptedException {
+		final Map<UUID, ?> pending = (Map<UUID, ?>) ReflectionTestUtils.getField(components.callbackRegistry, "pending");
+		await(() -> pending.isEmpty());
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void awaitPollerMetric(final String name, final long expected) throws InterruptedException {
+		await(() -> getPollerMetric(name) instanceof final Long value && value == expected);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@SuppressWarnings("unchecked")
+	private Object getPollerMetric(final String name) {
+		final Map<String, Object> metrics = (Map<String, Object>) components.poller.getMetrics().get(standIn.getEndpoints().address());
+
+		return metrics == null ? null : metrics.get(name);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private UUID getCallbackId(final int index) {
+		final String url = standIn.getCallbackUrls().get(index);
+
+		return UUID.fromString(url.substring(url.lastIndexOf('/') + 1));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void await(final BooleanSupplier condition) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Condition is not met in time");
+			}
+
+			Thread.sleep(10);
+		}
+	}
+}
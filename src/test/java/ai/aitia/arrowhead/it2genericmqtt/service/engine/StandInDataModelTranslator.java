@@ -0,0 +1,338 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorEndpoints;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorOperationPlan;
+import eu.arrowhead.dto.DataModelTranslationInitRequestDTO;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+import eu.arrowhead.dto.enums.DataModelTranslationStatus;
+
+// a data model translator on the loopback interface, it upper-cases the input after the configured translation time and
+// reports the result to the status checks and, if the task has a callback url, to the callback
+final class StandInDataModelTranslator implements AutoCloseable {
+
+	//=================================================================================================
+	// members
+
+	static final String MIME_TYPE = "text/plain";
+
+	private static final String BASE_PATH = "/stand-in-translator";
+	private static final String INIT_TRANSLATION_PATH = BASE_PATH + "/init-translation";
+	private static final String GET_TRANSLATION_RESULT_PATH = BASE_PATH + "/get-translation-result";
+	private static final String ABORT_TRANSLATION_PATH = BASE_PATH + "/abort-translation";
+	private static final String QUERY_PARAM_TASK_ID = "taskId";
+
+	private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private final HttpServer server;
+	private final ExecutorService serverExecutor = Executors.newCachedThreadPool(); // a delayed response holds only a thread of the stand-in
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(); // finishes the tasks and sends the callbacks
+	private final HttpClient callbackClient = HttpClient.newHttpClient();
+	private final AtomicInteger taskCounter = new AtomicInteger();
+	private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+
+	private volatile long translationTime = 0; // in millisec
+	private volatile long responseDelay = 0; // in millisec, the network and processing latency of every operation
+	private volatile boolean callbacksDropped = false; // simulates callbacks lost on the network
+	private volatile long callbackDelay = 0; // in millisec, measured from the end of the translation
+
+	private final LongAdder inits = new LongAdder();
+	private final LongAdder polls = new LongAdder();
+	private final LongAdder aborts = new LongAdder();
+	private final List<String> callbackUrls = new CopyOnWriteArrayList<>();
+	private final List<Integer> callbackStatuses = new CopyOnWriteArrayList<>();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	StandInDataModelTranslator() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(serverExecutor);
+		server.createContext(INIT_TRANSLATION_PATH, this::handleInit);
+		server.createContext(GET_TRANSLATION_RESULT_PATH, this::handleGetResult);
+		server.createContext(ABORT_TRANSLATION_PATH, this::handleAbort);
+		server.start();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	TranslatorEndpoints getEndpoints() {
+		final int port = server.getAddress().getPort();
+
+		return new TranslatorEndpoints(
+				"127.0.0.1:" + port,
+				createOperation(port, HttpMethod.POST, INIT_TRANSLATION_PATH),
+				createOperation(port, HttpMethod.GET, GET_TRANSLATION_RESULT_PATH),
+				createOperation(port, HttpMethod.DELETE, ABORT_TRANSLATION_PATH));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the same response the translator sends to the status checks and the callbacks
+	DataModelTranslationResultResponseDTO createResponse(final DataModelTranslationStatus status, final String output) {
+		return mapper.convertValue(createResponseBody(status, output), DataModelTranslationResultResponseDTO.class);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void setTranslationTime(final long translationTime) {
+		this.translationTime = translationTime;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void setResponseDelay(final long responseDelay) {
+		this.responseDelay = responseDelay;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void setCallbacksDropped(final boolean callbacksDropped) {
+		this.callbacksDropped = callbacksDropped;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	void setCallbackDelay(final long callbackDelay) {
+		this.callbackDelay = callbackDelay;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	long getInits() {
+		return inits.sum();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	long getPolls() {
+		return polls.sum();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	long getAborts() {
+		return aborts.sum();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the callback urls of the initiated tasks, in order
+	List<String> getCallbackUrls() {
+		return callbackUrls;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// the HTTP status of every callback sent, in order
+	List<Integer> getCallbackStatuses() {
+		return callbackStatuses;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void close() {
+		server.stop(0);
+		serverExecutor.shutdownNow();
+		scheduler.shutdownNow();
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void handleInit(final HttpExchange exchange) throws IOException {
+		inits.increment();
+
+		final DataModelTranslationInitRequestDTO request = mapper.readValue(exchange.getRequestBody(), DataModelTranslationInitRequestDTO.class);
+		final Object callbackUrl = request.configurationSettings() == null
+				? null
+				: request.configurationSettings().get(InterfaceTranslatorToGenericMQTTConstants.CONFIGURATION_SETTING_KEY_CALLBACK_URL);
+
+		final Task task = new Task("task-" + taskCounter.incrementAndGet(), request.inputData(), callbackUrl == null ? null : callbackUrl.toString());
+		tasks.put(task.id, task);
+		if (task.callbackUrl != null) {
+			callbackUrls.add(task.callbackUrl);
+		}
+
+		scheduler.schedule(() -> finish(task), translationTime, TimeUnit.MILLISECONDS);
+
+		respond(exchange, 200, MIME_TYPE, task.id.getBytes(StandardCharsets.UTF_8));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void handleGetResult(final HttpExchange exchange) throws IOException {
+		polls.increment();
+
+		final Task task = findTask(exchange);
+		if (task == null) {
+			respond(exchange, 400, MIME_TYPE, "Unknown task".getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+
+		respond(exchange, 200, "application/json", mapper.writeValueAsBytes(createResponseBody(task)));
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void handleAbort(final HttpExchange exchange) throws IOException {
+		aborts.increment();
+
+		final Task task = findTask(exchange);
+		if (task != null) {
+			task.status = DataModelTranslationStatus.ERROR;
+			task.output = "Aborted";
+		}
+
+		respond(exchange, 200, MIME_TYPE, new byte[0]);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void finish(final Task task) {
+		if (task.status != DataModelTranslationStatus.IN_PROGRESS) {
+			// aborted
+			return;
+		}
+
+		task.output = Payload.wrap(Payload.fromBase64(task.input).asString(StandardCharsets.UTF_8).toUpperCase().getBytes(StandardCharsets.UTF_8)).toBase64();
+		task.status = DataModelTranslationStatus.DONE;
+
+		if (task.callbackUrl != null && !callbacksDropped) {
+			scheduler.schedule(() -> sendCallback(task), callbackDelay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void sendCallback(final Task task) {
+		try {
+			final HttpRequest request = HttpRequest.newBuilder(URI.create(task.callbackUrl))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(createResponseBody(task))))
+					.build();
+			callbackClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, ex) -> callbackStatuses.add(ex == null ? response.statusCode() : -1));
+		} catch (final IOException ex) {
+			callbackStatuses.add(-1);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Task findTask(final HttpExchange exchange) {
+		final String taskId = UriComponentsBuilder.fromUri(exchange.getRequestURI()).build().getQueryParams().getFirst(QUERY_PARAM_TASK_ID);
+
+		return taskId == null ? null : tasks.get(taskId);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Map<String, Object> createResponseBody(final Task task) {
+		return createResponseBody(task.status, task.output);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Map<String, Object> createResponseBody(final DataModelTranslationStatus status, final String output) {
+		final Map<String, Object> body = new LinkedHashMap<>();
+		body.put("status", status.name());
+		body.put("result", output);
+		body.put("mimeType", status == DataModelTranslationStatus.DONE ? MIME_TYPE : null);
+
+		return body;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void respond(final HttpExchange exchange, final int status, final String contentType, final byte[] body) throws IOException {
+		if (responseDelay > 0) {
+			try {
+				Thread.sleep(responseDelay);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		if (body.length > 0) {
+			exchange.getResponseBody().write(body);
+		}
+		exchange.close();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private UriComponents createOperation(final int port, final String path) {
+		return UriComponentsBuilder.newInstance()
+				.scheme("http")
+				.host("127.0.0.1")
+				.port(port)
+				.path(path)
+				.build();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private TranslatorOperationPlan createOperation(final int port, final HttpMethod method, final String path) {
+		final UriComponents uri = createOperation(port, path);
+		final UriComponents taskUriTemplate = UriComponentsBuilder.newInstance()
+				.uriComponents(uri)
+				.queryParam(QUERY_PARAM_TASK_ID, "{" + QUERY_PARAM_TASK_ID + "}")
+				.build();
+
+		return new TranslatorOperationPlan(method, uri, taskUriTemplate);
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class Task {
+
+		//=================================================================================================
+		// members
+
+		private final String id;
+		private final String input; // Base64 encoded
+		private final String callbackUrl; // null in polling mode
+
+		private volatile DataModelTranslationStatus status = DataModelTranslationStatus.IN_PROGRESS;
+		private volatile String output; // Base64 encoded result or the error message
+
+		//=================================================================================================
+		// methods
+
+		//-------------------------------------------------------------------------------------------------
+		private Task(final String id, final String input, final String callbackUrl) {
+			this.id = id;
+			this.input = input;
+			this.callbackUrl = callbackUrl;
+		}
+	}
+}
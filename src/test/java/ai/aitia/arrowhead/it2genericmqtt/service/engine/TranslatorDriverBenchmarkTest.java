@@ -0,0 +1,190 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.model.BridgeCancellation;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.Payload;
+import ai.aitia.arrowhead.it2genericmqtt.service.model.TranslatorCallPlan;
+import eu.arrowhead.dto.TranslationDataModelTranslationDataDescriptorDTO;
+
+// run with -Dbenchmark=true, the throughput and latency of both drivers are logged
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TranslatorDriverBenchmarkTest {
+
+	//=================================================================================================
+	// members
+
+	private static final int[] CONCURRENCY_LEVELS = { 16, 128, 512 }; // translations in progress at the same time
+	private static final int TRANSLATIONS = 1000; // per measurement
+	private static final int WARMUP_TRANSLATIONS = 200;
+	private static final int CALLER_THREADS = 16; // the request handler threads that start the translations
+	private static final long TRANSLATION_TIME = 50; // in millisec
+	private static final long RESPONSE_DELAY = 20; // in millisec, for every operation of the translator
+	private static final long POLL_INITIAL_DELAY = 50; // in millisec
+	private static final long WAIT_MILLIS = 1000;
+	private static final int TRIES = 60; // the blocking driver may queue a lot, the deadline must not distort the results
+	private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(5); // in millisec, for one measurement
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	private StandInDataModelTranslator standIn;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@BeforeEach
+	public void setUp() throws IOException {
+		standIn = new StandInDataModelTranslator();
+		standIn.setTranslationTime(TRANSLATION_TIME);
+		standIn.setResponseDelay(RESPONSE_DELAY);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@AfterEach
+	public void tearDown() {
+		standIn.close();
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testBlockingAndReactiveDrivers() throws Exception {
+		Measurement blocking = null;
+		Measurement reactive = null;
+		for (final int concurrency : CONCURRENCY_LEVELS) {
+			blocking = run(false, concurrency);
+			reactive = run(true, concurrency);
+
+			logger.info("{} concurrent translations: blocking {} translations/s (p50 {} ms, p99 {} ms), reactive {} translations/s (p50 {} ms, p99 {} ms)",
+					concurrency,
+					Math.round(blocking.throughput()), blocking.p50(), blocking.p99(),
+					Math.round(reactive.throughput()), reactive.p50(), reactive.p99());
+
+			assertEquals(0, blocking.failures());
+			assertEquals(0, reactive.failures());
+		}
+
+		// in blocking mode every status check holds one of the few poller threads for a whole round trip
+		assertTrue(reactive.throughput() >= blocking.throughput(), "The reactive driver is slower than the blocking one at "
+				+ CONCURRENCY_LEVELS[CONCURRENCY_LEVELS.length - 1] + " concurrent translations");
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private Measurement run(final boolean reactiveEnabled, final int concurrency) throws Exception {
+		try (TranslatorTestComponents components = new TranslatorTestComponents(reactiveEnabled, false, 1, POLL_INITIAL_DELAY)) {
+			translate(components, concurrency, WARMUP_TRANSLATIONS);
+
+			return translate(components, concurrency, TRANSLATIONS);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private Measurement translate(final TranslatorTestComponents components, final int concurrency, final int count) throws InterruptedException {
+		final TranslatorCallPlan plan = new TranslatorCallPlan(
+				new TranslationDataModelTranslationDataDescriptorDTO("testInputModel", "testOutputModel", Map.of(), Map.of()),
+				List.of(standIn.getEndpoints()),
+				TRIES,
+				WAIT_MILLIS,
+				false,
+				false,
+				null);
+		final Payload input = Payload.of("hello translator");
+
+		final ExecutorService callers = Executors.newFixedThreadPool(CALLER_THREADS);
+		final Semaphore inProgress = new Semaphore(concurrency);
+		final CountDownLatch finished = new CountDownLatch(count);
+		final LongAdder failures = new LongAdder();
+		final long[] latencies = new long[count]; // in millisec
+
+		final long start = System.nanoTime();
+		try {
+			for (int i = 0; i < count; ++i) {
+				inProgress.acquire();
+
+				final int index = i;
+				callers.execute(() -> {
+					final long translationStart = System.nanoTime();
+					try {
+						// with the blocking driver the initiation runs on the caller thread
+						components.engine.translateAsync(new BridgeCancellation(), plan, input)
+								.whenComplete((result, ex) -> {
+									latencies[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - translationStart);
+									if (ex != null) {
+										failures.increment();
+									}
+									inProgress.release();
+									finished.countDown();
+								});
+					} catch (final RuntimeException ex) {
+						failures.increment();
+						inProgress.release();
+						finished.countDown();
+					}
+				});
+			}
+
+			assertTrue(finished.await(TIMEOUT, TimeUnit.MILLISECONDS), "Translations are not finished in time");
+		} finally {
+			callers.shutdownNow();
+		}
+
+		final long elapsed = System.nanoTime() - start;
+		Arrays.sort(latencies);
+
+		return new Measurement(
+				count / (elapsed / 1_000_000_000.0),
+				latencies[count / 2],
+				latencies[Math.min(count - 1, count * 99 / 100)],
+				failures.sum());
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private record Measurement(
+			double throughput, // translations per second
+			long p50, // in millisec
+			long p99, // in millisec
+			long failures) {
+	}
+}
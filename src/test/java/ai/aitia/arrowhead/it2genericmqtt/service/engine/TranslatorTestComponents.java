@@ -0,0 +1,171 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.engine;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTConstants;
+import ai.aitia.arrowhead.it2genericmqtt.InterfaceTranslatorToGenericMQTTSystemInfo;
+import ai.aitia.arrowhead.it2genericmqtt.api.http.TranslationCallbackAPI;
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+import eu.arrowhead.common.exception.ArrowheadException;
+import eu.arrowhead.dto.DataModelTranslationResultResponseDTO;
+
+// the translation components wired by hand with the property defaults, without an application context;
+// the callback endpoint is served by a JDK HTTP server that hands the requests to the real TranslationCallbackAPI
+final class TranslatorTestComponents implements AutoCloseable {
+
+	//=================================================================================================
+	// members
+
+	private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // as Spring Boot configures it
+	private final HttpServer callbackServer;
+	private final ExecutorService callbackExecutor = Executors.newFixedThreadPool(4);
+
+	final CoarseClock clock = new CoarseClock();
+	final TranslatorHttpClient httpClient = new TranslatorHttpClient();
+	final DataModelTranslatorDriver dmDriver = new DataModelTranslatorDriver();
+	final ReactiveDataModelTranslatorDriver reactiveDmDriver = new ReactiveDataModelTranslatorDriver();
+	final TranslatorLoadBalancer loadBalancer = new TranslatorLoadBalancer();
+	final TranslationCallbackRegistry callbackRegistry = new TranslationCallbackRegistry();
+	final TranslationTaskPoller poller = new TranslationTaskPoller();
+	final DataModelTranslatorEngine engine = new DataModelTranslatorEngine();
+	final TranslationCallbackAPI callbackApi = new TranslationCallbackAPI();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	TranslatorTestComponents(final boolean reactiveEnabled, final boolean callbackEnabled, final int callbackFallbackFactor, final long pollInitialDelay) throws IOException {
+		ReflectionTestUtils.setField(clock, "resolution", 10L);
+		ReflectionTestUtils.invokeMethod(clock, "init");
+
+		ReflectionTestUtils.setField(httpClient, "maxConnections", 50);
+		ReflectionTestUtils.setField(httpClient, "pendingAcquireMax", 1000);
+		ReflectionTestUtils.setField(httpClient, "idleTimeout", 30000L);
+		ReflectionTestUtils.setField(httpClient, "evictionInterval", 60000L);
+		ReflectionTestUtils.setField(httpClient, "connectTimeout", 5000);
+		ReflectionTestUtils.setField(httpClient, "responseTimeout", 10000L);
+		ReflectionTestUtils.setField(httpClient, "h2Enabled", false);
+		ReflectionTestUtils.setField(httpClient, "tlsSessionTimeout", 3600L);
+		ReflectionTestUtils.setField(httpClient, "sysInfo", new PlainSystemInfo());
+		ReflectionTestUtils.setField(httpClient, "mapper", mapper);
+		ReflectionTestUtils.invokeMethod(httpClient, "init");
+
+		ReflectionTestUtils.setField(dmDriver, "httpClient", httpClient);
+		ReflectionTestUtils.setField(reactiveDmDriver, "httpClient", httpClient);
+
+		ReflectionTestUtils.setField(loadBalancer, "failureThreshold", 3);
+		ReflectionTestUtils.setField(loadBalancer, "unhealthyDuration", 10000L);
+		ReflectionTestUtils.setField(loadBalancer, "addressExpiry", 600000L);
+		ReflectionTestUtils.setField(loadBalancer, "clock", clock);
+
+		ReflectionTestUtils.setField(poller, "pollerThreads", 4);
+		ReflectionTestUtils.setField(poller, "initialDelay", pollInitialDelay);
+		ReflectionTestUtils.setField(poller, "reactiveEnabled", reactiveEnabled);
+		ReflectionTestUtils.setField(poller, "dmDriver", dmDriver);
+		ReflectionTestUtils.setField(poller, "reactiveDmDriver", reactiveDmDriver);
+		ReflectionTestUtils.setField(poller, "loadBalancer", loadBalancer);
+		ReflectionTestUtils.setField(poller, "clock", clock);
+		ReflectionTestUtils.invokeMethod(poller, "init");
+
+		final TranslationResultCache translationCache = new TranslationResultCache();
+		ReflectionTestUtils.setField(translationCache, "maxBytes", 33554432L);
+		ReflectionTestUtils.setField(translationCache, "ttl", 300000L);
+		ReflectionTestUtils.invokeMethod(translationCache, "init");
+
+		final TranslationHedgingPolicy hedgingPolicy = new TranslationHedgingPolicy();
+		ReflectionTestUtils.setField(hedgingPolicy, "percentile", 95);
+		ReflectionTestUtils.setField(hedgingPolicy, "budget", 10);
+
+		ReflectionTestUtils.setField(engine, "reactiveEnabled", reactiveEnabled);
+		ReflectionTestUtils.setField(engine, "callbackEnabled", callbackEnabled);
+		ReflectionTestUtils.setField(engine, "callbackFallbackFactor", callbackFallbackFactor);
+		ReflectionTestUtils.setField(engine, "dmDriver", dmDriver);
+		ReflectionTestUtils.setField(engine, "reactiveDmDriver", reactiveDmDriver);
+		ReflectionTestUtils.setField(engine, "callbackRegistry", callbackRegistry);
+		ReflectionTestUtils.setField(engine, "translationCache", translationCache);
+		ReflectionTestUtils.setField(engine, "poller", poller);
+		ReflectionTestUtils.setField(engine, "loadBalancer", loadBalancer);
+		ReflectionTestUtils.setField(engine, "hedgingPolicy", hedgingPolicy);
+
+		ReflectionTestUtils.setField(callbackApi, "callbackRegistry", callbackRegistry);
+
+		callbackServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		callbackServer.setExecutor(callbackExecutor);
+		callbackServer.createContext(InterfaceTranslatorToGenericMQTTConstants.HTTP_API_TRANSLATION_CALLBACK_PATH + "/", this::handleCallback);
+		callbackServer.start();
+
+		// the registry would build it from the system info
+		ReflectionTestUtils.setField(callbackRegistry, "callbackBaseUrl",
+				"http://127.0.0.1:" + callbackServer.getAddress().getPort() + InterfaceTranslatorToGenericMQTTConstants.HTTP_API_TRANSLATION_CALLBACK_PATH);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Override
+	public void close() {
+		callbackServer.stop(0);
+		callbackExecutor.shutdownNow();
+		ReflectionTestUtils.invokeMethod(poller, "destroy");
+		ReflectionTestUtils.invokeMethod(httpClient, "destroy");
+		ReflectionTestUtils.invokeMethod(clock, "destroy");
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	private void handleCallback(final HttpExchange exchange) throws IOException {
+		final String path = exchange.getRequestURI().getPath();
+		final String callbackId = path.substring(path.lastIndexOf('/') + 1);
+
+		int status = 200;
+		try {
+			final DataModelTranslationResultResponseDTO dto = mapper.readValue(exchange.getRequestBody(), DataModelTranslationResultResponseDTO.class);
+			callbackApi.translationCallback(callbackId, dto);
+		} catch (final ArrowheadException ex) {
+			status = 400;
+		} catch (final IOException | RuntimeException ex) {
+			status = 500;
+		}
+
+		exchange.sendResponseHeaders(status, -1);
+		exchange.close();
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	private static final class PlainSystemInfo extends InterfaceTranslatorToGenericMQTTSystemInfo {
+
+		//-------------------------------------------------------------------------------------------------
+		@Override
+		public boolean isSslEnabled() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.management.ThreadMXBean;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+
+public class BridgeStoreAllocationTest {
+
+	//=================================================================================================
+	// members
+
+	private static final int BRIDGES = 100;
+	private static final int WARMUP_LOOKUPS = 200_000; // the lookup path is JIT compiled by then
+	private static final int MEASURED_LOOKUPS = 100_000;
+
+	private final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private final UUID[] endpointIds = new UUID[BRIDGES];
+
+	private CoarseClock clock;
+	private BridgeStore store;
+	private LegacyBridgeStore legacyStore;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@BeforeEach
+	public void setUp() {
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "The JVM does not measure thread allocation");
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		clock = new CoarseClock();
+		ReflectionTestUtils.setField(clock, "resolution", 10L);
+		ReflectionTestUtils.invokeMethod(clock, "init");
+
+		store = new BridgeStore();
+		ReflectionTestUtils.setField(store, "defaultInactivityThreshold", 30);
+		ReflectionTestUtils.setField(store, "journal", new BridgeJournal()); // disabled
+		ReflectionTestUtils.setField(store, "clock", clock);
+
+		legacyStore = new LegacyBridgeStore();
+
+		for (int i = 0; i < BRIDGES; ++i) {
+			endpointIds[i] = UUID.randomUUID();
+			final NormalizedTranslationBridgeModel model = createModel(endpointIds[i]);
+			store.add(new BridgeExecutionPlan(
+					model,
+					new BridgeCancellation(),
+					new ProviderCallPlan(null, "test/base", "test/base/test-operation", 1, 1, 5000, false),
+					null,
+					null,
+					0));
+			legacyStore.add(model);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@AfterEach
+	public void tearDown() {
+		if (clock != null) {
+			ReflectionTestUtils.invokeMethod(clock, "destroy");
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testLookupStampDoesNotAllocate() {
+		lookup(WARMUP_LOOKUPS);
+		final long allocated = measure(() -> lookup(MEASURED_LOOKUPS));
+
+		// a single object per lookup would be at least 16 bytes
+		assertTrue(allocated < MEASURED_LOOKUPS, "Bridge lookups allocated " + allocated + " bytes");
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testLegacyLookupStampAllocates() {
+		// the baseline: every lookup of the previous store stamped the bridge with a new ZonedDateTime
+		legacyLookup(WARMUP_LOOKUPS);
+		final long allocated = measure(() -> legacyLookup(MEASURED_LOOKUPS));
+
+		assertTrue(allocated >= 16L * MEASURED_LOOKUPS, "Legacy bridge lookups allocated only " + allocated + " bytes");
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the bytes allocated by the current thread while running the action
+	private long measure(final Runnable action) {
+		final long before = threadBean.getCurrentThreadAllocatedBytes();
+		action.run();
+		final long after = threadBean.getCurrentThreadAllocatedBytes();
+
+		return after - before;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void lookup(final int count) {
+		for (int i = 0; i < count; ++i) {
+			assertNotNull(store.getPlanByEndpointId(endpointIds[i % BRIDGES]));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private void legacyLookup(final int count) {
+		for (int i = 0; i < count; ++i) {
+			assertNotNull(legacyStore.getByEndpointId(endpointIds[i % BRIDGES]));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private NormalizedTranslationBridgeModel createModel(final UUID endpointId) {
+		return new NormalizedTranslationBridgeModel(
+				endpointId,
+				UUID.randomUUID(),
+				"generic_http",
+				null,
+				null,
+				null,
+				null,
+				"generic_mqtt",
+				Map.of(),
+				"test-operation",
+				null,
+				null);
+	}
+}
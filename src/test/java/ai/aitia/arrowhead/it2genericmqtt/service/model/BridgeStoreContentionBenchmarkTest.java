@@ -0,0 +1,219 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ai.aitia.arrowhead.it2genericmqtt.service.utils.CoarseClock;
+
+// run with -Dbenchmark=true, the throughput of both stores is logged
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BridgeStoreContentionBenchmarkTest {
+
+	//=================================================================================================
+	// members
+
+	private static final int BRIDGES = 1000;
+	private static final int[] THREAD_COUNTS = { 1, 8, 64 };
+	private static final long WARMUP_MILLIS = 1000;
+	private static final long MEASUREMENT_MILLIS = 2000;
+	private static final int CHURN_PERIOD = 100; // every 100th operation re-registers a bridge, the rest are bridge calls
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	private final UUID[] endpointIds = new UUID[BRIDGES];
+	private final UUID[] bridgeIds = new UUID[BRIDGES];
+
+	private CoarseClock clock;
+	private BridgeStore store;
+	private LegacyBridgeStore legacyStore;
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	@BeforeEach
+	public void setUp() {
+		clock = new CoarseClock();
+		ReflectionTestUtils.setField(clock, "resolution", 10L);
+		ReflectionTestUtils.invokeMethod(clock, "init");
+
+		store = new BridgeStore();
+		ReflectionTestUtils.setField(store, "defaultInactivityThreshold", 30);
+		ReflectionTestUtils.setField(store, "journal", new BridgeJournal()); // disabled
+		ReflectionTestUtils.setField(store, "clock", clock);
+
+		legacyStore = new LegacyBridgeStore();
+
+		for (int i = 0; i < BRIDGES; ++i) {
+			endpointIds[i] = UUID.randomUUID();
+			bridgeIds[i] = UUID.randomUUID();
+			store.add(createPlan(i));
+			legacyStore.add(createModel(i));
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@AfterEach
+	public void tearDown() {
+		ReflectionTestUtils.invokeMethod(clock, "destroy");
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	@Test
+	public void testContention() throws InterruptedException {
+		// the same calls the filters and the handlers make for one bridge call
+		final Operation current = (i, churn) -> {
+			if (churn) {
+				store.removeByBridgeId(bridgeIds[i]);
+				store.add(createPlan(i));
+			} else if (store.containsEndpointId(endpointIds[i])) {
+				store.getPlanByEndpointId(endpointIds[i]);
+			}
+		};
+		final Operation legacy = (i, churn) -> {
+			if (churn) {
+				legacyStore.removeByBridgeId(bridgeIds[i]);
+				legacyStore.add(createModel(i));
+			} else if (legacyStore.containsEndpointId(endpointIds[i])) {
+				legacyStore.getByEndpointId(endpointIds[i]);
+			}
+		};
+
+		double currentThroughput = 0;
+		double legacyThroughput = 0;
+		for (final int threads : THREAD_COUNTS) {
+			run(threads, current, WARMUP_MILLIS);
+			currentThroughput = run(threads, current, MEASUREMENT_MILLIS);
+			run(threads, legacy, WARMUP_MILLIS);
+			legacyThroughput = run(threads, legacy, MEASUREMENT_MILLIS);
+
+			logger.info("{} thread(s): BridgeStore {} ops/ms, legacy store {} ops/ms ({}x)",
+					threads,
+					Math.round(currentThroughput),
+					Math.round(legacyThroughput),
+					String.format("%.2f", currentThroughput / legacyThroughput));
+		}
+
+		// every bridge is still reachable after the re-registrations
+		for (int i = 0; i < BRIDGES; ++i) {
+			assertTrue(store.containsEndpointId(endpointIds[i]));
+			assertEquals(bridgeIds[i], store.getByEndpointId(endpointIds[i]).bridgeId());
+		}
+
+		// the global monitor of the legacy store can't be faster under the highest contention
+		assertTrue(currentThroughput >= legacyThroughput, "BridgeStore is slower than the legacy store at " + THREAD_COUNTS[THREAD_COUNTS.length - 1] + " threads");
+	}
+
+	//=================================================================================================
+	// assistant methods
+
+	//-------------------------------------------------------------------------------------------------
+	// returns the number of operations per millisec
+	private double run(final int threads, final Operation operation, final long millis) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final LongAdder operations = new LongAdder();
+		final AtomicBoolean stop = new AtomicBoolean(false); // a plain volatile read, it adds no contention of its own
+		final Thread[] workers = new Thread[threads];
+
+		for (int t = 0; t < threads; ++t) {
+			workers[t] = new Thread(() -> {
+				final ThreadLocalRandom random = ThreadLocalRandom.current();
+				long count = 0;
+				try {
+					start.await();
+				} catch (final InterruptedException ex) {
+					return;
+				}
+
+				while (!stop.get()) {
+					operation.run(random.nextInt(BRIDGES), ++count % CHURN_PERIOD == 0);
+				}
+
+				operations.add(count);
+			}, "bridge-store-benchmark-" + t);
+			workers[t].start();
+		}
+
+		final long startTime = System.nanoTime();
+		start.countDown();
+		Thread.sleep(millis);
+		stop.set(true);
+
+		for (final Thread worker : workers) {
+			worker.join();
+		}
+
+		return operations.sum() / ((System.nanoTime() - startTime) / 1_000_000.0);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private NormalizedTranslationBridgeModel createModel(final int index) {
+		return new NormalizedTranslationBridgeModel(
+				endpointIds[index],
+				bridgeIds[index],
+				"generic_http",
+				null,
+				null,
+				null,
+				null,
+				"generic_mqtt",
+				Map.of(),
+				"test-operation",
+				null,
+				null);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	private BridgeExecutionPlan createPlan(final int index) {
+		return new BridgeExecutionPlan(
+				createModel(index),
+				new BridgeCancellation(),
+				new ProviderCallPlan(null, "test/base", "test/base/test-operation", 1, 1, 5000, false),
+				null,
+				null,
+				0);
+	}
+
+	//=================================================================================================
+	// nested structures
+
+	//-------------------------------------------------------------------------------------------------
+	@FunctionalInterface
+	private interface Operation {
+
+		//-------------------------------------------------------------------------------------------------
+		void run(final int index, final boolean churn);
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ *
+ * Copyright (c) 2025 AITIA
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ *
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  	AITIA
+ *
+ *******************************************************************************/
+package ai.aitia.arrowhead.it2genericmqtt.service.model;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.util.Assert;
+
+import eu.arrowhead.common.Utilities;
+
+// the store as it was before the lock-free rework, only kept as the baseline of the benchmarks
+class LegacyBridgeStore {
+
+	//=================================================================================================
+	// members
+
+	private final Logger logger = LogManager.getLogger(this.getClass());
+
+	private Map<UUID, UUID> endpointIdToBridgeId = new ConcurrentHashMap<>();
+	private Map<UUID, NormalizedTranslationBridgeModel> bridgeIdToModel = new ConcurrentHashMap<>();
+	private Map<UUID, ZonedDateTime> bridgeIdToTimestamp = new ConcurrentHashMap<>();
+
+	private static final Object LOCK = new Object();
+
+	//=================================================================================================
+	// methods
+
+	//-------------------------------------------------------------------------------------------------
+	void add(final NormalizedTranslationBridgeModel model) {
+		logger.debug("LegacyBridgeStore.add started...");
+		Assert.notNull(model, "model is null");
+
+		synchronized (LOCK) {
+			endpointIdToBridgeId.put(model.endpointId(), model.bridgeId());
+			bridgeIdToModel.put(model.bridgeId(), model);
+			bridgeIdToTimestamp.put(model.bridgeId(), Utilities.utcNow());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	boolean containsEndpointId(final UUID endpointId) {
+		logger.debug("LegacyBridgeStore.containsEndpointId started...");
+		Assert.notNull(endpointId, "endpointId is null");
+
+		synchronized (LOCK) {
+			return endpointIdToBridgeId.containsKey(endpointId);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	boolean containsBridgeId(final UUID bridgeId) {
+		logger.debug("LegacyBridgeStore.containsBridgeId started...");
+		Assert.notNull(bridgeId, "bridgeId is null");
+
+		synchronized (LOCK) {
+			return bridgeIdToModel.containsKey(bridgeId);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	NormalizedTranslationBridgeModel getByBridgeId(final UUID bridgeId) {
+		logger.debug("LegacyBridgeStore.getByBridgeId started...");
+		Assert.notNull(bridgeId, "bridgeId is null");
+
+		synchronized (LOCK) {
+			return bridgeIdToModel.get(bridgeId);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	NormalizedTranslationBridgeModel getByEndpointId(final UUID endpointId) {
+		logger.debug("LegacyBridgeStore.getByEndpointId started...");
+		Assert.notNull(endpointId, "endpointId is null");
+
+		synchronized (LOCK) {
+			final UUID bridgeId = endpointIdToBridgeId.get(endpointId);
+			if (bridgeId != null) {
+				final NormalizedTranslationBridgeModel result = bridgeIdToModel.get(bridgeId);
+				if (result != null) {
+					bridgeIdToTimestamp.put(bridgeId, Utilities.utcNow()); // new activity on the bridge
+				}
+
+				return result;
+			}
+
+			return null;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	NormalizedTranslationBridgeModel removeByBridgeId(final UUID bridgeId) {
+		logger.debug("LegacyBridgeStore.removeByBridgeId started...");
+		Assert.notNull(bridgeId, "bridgeId is null");
+
+		synchronized (LOCK) {
+			final NormalizedTranslationBridgeModel model = bridgeIdToModel.remove(bridgeId);
+			if (model != null) {
+				bridgeIdToTimestamp.remove(bridgeId);
+				endpointIdToBridgeId.remove(model.endpointId());
+			}
+
+			return model;
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	List<NormalizedTranslationBridgeModel> getBridgeModelsWithOlderActivityThan(final ZonedDateTime threshold) {
+		logger.debug("LegacyBridgeStore.getBridgeModelsWithOlderActivityThan started...");
+		Assert.notNull(threshold, "threshold is null");
+
+		final List<NormalizedTranslationBridgeModel> result = new ArrayList<>();
+		synchronized (LOCK) {
+			bridgeIdToTimestamp.forEach((id, timestamp) -> {
+				if (timestamp.isBefore(threshold)) {
+					result.add(bridgeIdToModel.get(id));
+				}
+			});
+		}
+
+		return result;
+	}
+}
\ No newline at end of file